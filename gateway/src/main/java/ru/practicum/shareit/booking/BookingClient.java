@@ -3,27 +3,40 @@ package ru.practicum.shareit.booking;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
 
+import java.util.List;
 import java.util.Map;
 
 @Service
+@Profile("!reactive")
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl,
+                         @Value("${shareit-server.passthrough:false}") boolean passthrough,
+                         RestTemplateBuilder builder,
+                         ClientHttpRequestFactory requestFactory,
+                         ResponseCache responseCache,
+                         RequestCoalescer requestCoalescer) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                passthrough,
+                responseCache,
+                requestCoalescer
         );
     }
 
@@ -35,25 +48,36 @@ public class BookingClient extends BaseClient {
         Map<String, Object> parameters = Map.of(
                 "approved", approved
         );
-        return patch("/" + bookingId + "?approved={approved}", userId, parameters, null);
+        ResponseEntity<Object> response = patch("/" + bookingId + "?approved={approved}", userId, parameters, null);
+        if (!approved) {
+            return response;
+        }
+        return invalidateOnSuccess(response, body -> ResponseCache.items(List.of(body.path("item"))));
     }
 
-    public ResponseEntity<Object> getBookings(long userId, BookingState state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
-        );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+    public ResponseEntity<Object> getBookings(long userId, BookingState state, Integer from, Integer size, String cursor) {
+        return getPage("", userId, state, from, size, cursor);
+    }
+
+    public ResponseEntity<Object> getOwnerBookings(long userId, BookingState state, Integer from, Integer size, String cursor) {
+        return getPage("/owner", userId, state, from, size, cursor);
     }
 
-    public ResponseEntity<Object> getOwnerBookings(long userId, BookingState state, Integer from, Integer size) {
+    private ResponseEntity<Object> getPage(String path, long userId, BookingState state, Integer from, Integer size, String cursor) {
+        if (cursor != null) {
+            Map<String, Object> parameters = Map.of(
+                    "state", state.name(),
+                    "cursor", cursor,
+                    "size", size
+            );
+            return get(path + "?state={state}&cursor={cursor}&size={size}", userId, parameters);
+        }
         Map<String, Object> parameters = Map.of(
                 "state", state.name(),
                 "from", from,
                 "size", size
         );
-        return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
+        return get(path + "?state={state}&from={from}&size={size}", userId, parameters);
     }
 
     public ResponseEntity<Object> getBooking(long userId, Long bookingId) {
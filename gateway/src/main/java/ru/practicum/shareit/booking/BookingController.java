@@ -3,6 +3,7 @@ package ru.practicum.shareit.booking;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
@@ -15,6 +16,7 @@ import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
 
 @Controller
+@Profile("!reactive")
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
 @Slf4j
@@ -55,12 +57,13 @@ public class BookingController {
 			@RequestHeader("X-Sharer-User-Id") long userId,
 			@RequestParam(name = "state", defaultValue = "all") String stateParam,
 			@PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-			@Positive @RequestParam(name = "size", defaultValue = "10") Integer size
+			@Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+			@RequestParam(name = "cursor", required = false) String cursor
 	) {
 		BookingState state = BookingState.from(stateParam)
 				.orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-		log.info("Get booking with state {}, user id={}, from={}, size={}", stateParam, userId, from, size);
-		return bookingClient.getBookings(userId, state, from, size);
+		log.info("Get booking with state {}, user id={}, from={}, size={}, cursor={}", stateParam, userId, from, size, cursor);
+		return bookingClient.getBookings(userId, state, from, size, cursor);
 	}
 
 	@GetMapping("/owner")
@@ -68,11 +71,12 @@ public class BookingController {
 			@RequestHeader("X-Sharer-User-Id") long userId,
 			@RequestParam(name = "state", defaultValue = "all") String stateParam,
 			@PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-			@Positive @RequestParam(name = "size", defaultValue = "10") Integer size
+			@Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+			@RequestParam(name = "cursor", required = false) String cursor
 	) {
 		BookingState state = BookingState.from(stateParam)
 				.orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-		log.info("Get booking with state {}, owner id={}, from={}, size={}", stateParam, userId, from, size);
-		return bookingClient.getOwnerBookings(userId, state, from, size);
+		log.info("Get booking with state {}, owner id={}, from={}, size={}, cursor={}", stateParam, userId, from, size, cursor);
+		return bookingClient.getOwnerBookings(userId, state, from, size, cursor);
 	}
 }
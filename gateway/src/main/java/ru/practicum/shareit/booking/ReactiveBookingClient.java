@@ -0,0 +1,65 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+
+import java.util.Map;
+
+@Service
+@Profile("reactive")
+public class ReactiveBookingClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/bookings";
+
+    @Autowired
+    public ReactiveBookingClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder) {
+        super(builder.baseUrl(serverUrl + API_PREFIX).build());
+    }
+
+    public Mono<ResponseEntity<byte[]>> bookItem(long userId, BookItemRequestDto requestDto) {
+        return post("", userId, requestDto);
+    }
+
+    public Mono<ResponseEntity<byte[]>> approveBooking(long bookingId, long userId, boolean approved) {
+        Map<String, Object> parameters = Map.of(
+                "approved", approved
+        );
+        return patch("/" + bookingId + "?approved={approved}", userId, parameters, null);
+    }
+
+    public Mono<ResponseEntity<byte[]>> getBookings(long userId, BookingState state, Integer from, Integer size, String cursor) {
+        return getPage("", userId, state, from, size, cursor);
+    }
+
+    public Mono<ResponseEntity<byte[]>> getOwnerBookings(long userId, BookingState state, Integer from, Integer size, String cursor) {
+        return getPage("/owner", userId, state, from, size, cursor);
+    }
+
+    public Mono<ResponseEntity<byte[]>> getBooking(long userId, Long bookingId) {
+        return get("/" + bookingId, userId);
+    }
+
+    private Mono<ResponseEntity<byte[]>> getPage(String path, long userId, BookingState state, Integer from, Integer size, String cursor) {
+        if (cursor != null) {
+            Map<String, Object> parameters = Map.of(
+                    "state", state.name(),
+                    "cursor", cursor,
+                    "size", size
+            );
+            return get(path + "?state={state}&cursor={cursor}&size={size}", userId, parameters);
+        }
+        Map<String, Object> parameters = Map.of(
+                "state", state.name(),
+                "from", from,
+                "size", size
+        );
+        return get(path + "?state={state}&from={from}&size={size}", userId, parameters);
+    }
+}
@@ -0,0 +1,82 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingState;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+
+@Controller
+@Profile("reactive")
+@RequestMapping(path = "/bookings")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+public class ReactiveBookingController {
+    private final ReactiveBookingClient bookingClient;
+
+    @PostMapping
+    public Mono<ResponseEntity<byte[]>> bookItem(
+            @RequestBody @Valid BookItemRequestDto requestDto,
+            @RequestHeader("X-Sharer-User-Id") long userId
+    ) {
+        log.info("Creating booking {} by userId={}", requestDto, userId);
+        return bookingClient.bookItem(userId, requestDto);
+    }
+
+    @PatchMapping("/{bookingId}")
+    public Mono<ResponseEntity<byte[]>> approveBooking(
+            @PathVariable long bookingId,
+            @RequestParam boolean approved,
+            @RequestHeader("X-Sharer-User-Id") long userId
+    ) {
+        log.info("Approve {} booking id={} by user id={}", approved, bookingId, userId);
+        return bookingClient.approveBooking(bookingId, userId, approved);
+    }
+
+    @GetMapping("/{bookingId}")
+    public Mono<ResponseEntity<byte[]>> getBooking(
+            @RequestHeader("X-Sharer-User-Id") long userId,
+            @PathVariable Long bookingId
+    ) {
+        log.info("Get booking {}, userId={}", bookingId, userId);
+        return bookingClient.getBooking(userId, bookingId);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<byte[]>> getBookings(
+            @RequestHeader("X-Sharer-User-Id") long userId,
+            @RequestParam(name = "state", defaultValue = "all") String stateParam,
+            @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+            @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+            @RequestParam(name = "cursor", required = false) String cursor
+    ) {
+        BookingState state = BookingState.from(stateParam)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
+        log.info("Get booking with state {}, user id={}, from={}, size={}, cursor={}", stateParam, userId, from, size, cursor);
+        return bookingClient.getBookings(userId, state, from, size, cursor);
+    }
+
+    @GetMapping("/owner")
+    public Mono<ResponseEntity<byte[]>> getOwnerBookings(
+            @RequestHeader("X-Sharer-User-Id") long userId,
+            @RequestParam(name = "state", defaultValue = "all") String stateParam,
+            @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+            @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+            @RequestParam(name = "cursor", required = false) String cursor
+    ) {
+        BookingState state = BookingState.from(stateParam)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
+        log.info("Get booking with state {}, owner id={}, from={}, size={}, cursor={}", stateParam, userId, from, size, cursor);
+        return bookingClient.getOwnerBookings(userId, state, from, size, cursor);
+    }
+}
@@ -1,11 +1,20 @@
 package ru.practicum.shareit.client;
 
+import java.io.IOException;
+import java.net.URI;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
 
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
@@ -13,10 +22,27 @@ import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
 
 public class BaseClient {
+    private static final ObjectMapper JSON = new ObjectMapper();
+
     protected final RestTemplate rest;
+    private final boolean passthrough;
+    private final ResponseCache responseCache;
+    private final RequestCoalescer requestCoalescer;
 
     public BaseClient(RestTemplate rest) {
+        this(rest, false);
+    }
+
+    public BaseClient(RestTemplate rest, boolean passthrough) {
+        this(rest, passthrough, null, null);
+    }
+
+    public BaseClient(RestTemplate rest, boolean passthrough,
+                      @Nullable ResponseCache responseCache, @Nullable RequestCoalescer requestCoalescer) {
         this.rest = rest;
+        this.passthrough = passthrough;
+        this.responseCache = responseCache;
+        this.requestCoalescer = requestCoalescer;
     }
 
     protected ResponseEntity<Object> get(String path) {
@@ -28,7 +54,81 @@ public class BaseClient {
     }
 
     protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
-        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
+        if (requestCoalescer == null) {
+            return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
+        }
+        return requestCoalescer.execute(requestKey(expand(path, parameters), userId),
+                () -> makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null));
+    }
+
+    protected ResponseEntity<Object> getCached(String region, @Nullable Long id, String path, Long userId,
+                                               @Nullable Map<String, Object> parameters) {
+        return getCached(region, id, path, userId, parameters, null);
+    }
+
+    protected ResponseEntity<Object> getCached(String region, @Nullable Long id, String path, Long userId,
+                                               @Nullable Map<String, Object> parameters,
+                                               @Nullable Function<JsonNode, Set<ResponseCache.Tag>> dependencies) {
+        if (responseCache == null) {
+            return get(path, userId, parameters);
+        }
+        URI uri = expand(path, parameters);
+        ResponseCache.Key key = new ResponseCache.Key(region, id, uri.toString(), userId);
+        ResponseCache.CachedResponse cached = responseCache.get(key);
+        if (cached != null && responseCache.isFresh(cached)) {
+            return cached.toResponseEntity();
+        }
+        if (requestCoalescer == null) {
+            return revalidate(key, uri, userId, cached, dependencies);
+        }
+        return requestCoalescer.execute(requestKey(uri, userId), () -> revalidate(key, uri, userId, cached, dependencies));
+    }
+
+    private ResponseEntity<Object> revalidate(ResponseCache.Key key, URI uri, Long userId,
+                                              @Nullable ResponseCache.CachedResponse cached,
+                                              @Nullable Function<JsonNode, Set<ResponseCache.Tag>> dependencies) {
+        long requestedAt = System.nanoTime();
+        HttpHeaders headers = defaultHeaders(userId);
+        if (cached != null && cached.getEtag() != null) {
+            headers.setIfNoneMatch(cached.getEtag());
+        }
+        ResponseEntity<byte[]> shareitServerResponse;
+        try {
+            shareitServerResponse = rest.exchange(uri, HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+        } catch (HttpStatusCodeException e) {
+            return ResponseEntity.status(e.getStatusCode())
+                    .headers(HopByHopHeaders.strip(e.getResponseHeaders()))
+                    .body(e.getResponseBodyAsByteArray());
+        }
+        if (shareitServerResponse.getStatusCode() == HttpStatus.NOT_MODIFIED && cached != null) {
+            return responseCache.put(key, cached.getTags(), requestedAt,
+                    cached.getStatus(), cached.getHeaders(), cached.getBody()).toResponseEntity();
+        }
+        HttpHeaders responseHeaders = HopByHopHeaders.strip(shareitServerResponse.getHeaders());
+        if (shareitServerResponse.getStatusCode() == HttpStatus.OK) {
+            Set<ResponseCache.Tag> tags = dependencies != null
+                    ? dependencies.apply(readJson(shareitServerResponse.getBody()))
+                    : Set.of();
+            responseCache.put(key, tags, requestedAt, HttpStatus.OK, responseHeaders, shareitServerResponse.getBody());
+        }
+        return ResponseEntity.status(shareitServerResponse.getStatusCode())
+                .headers(responseHeaders)
+                .body(shareitServerResponse.getBody());
+    }
+
+    protected ResponseEntity<Object> invalidateOnSuccess(ResponseEntity<Object> response, ResponseCache.Tag... tags) {
+        if (responseCache != null && response.getStatusCode().is2xxSuccessful()) {
+            responseCache.invalidate(List.of(tags));
+        }
+        return response;
+    }
+
+    protected ResponseEntity<Object> invalidateOnSuccess(ResponseEntity<Object> response,
+                                                         Function<JsonNode, Set<ResponseCache.Tag>> tags) {
+        if (responseCache != null && response.getStatusCode().is2xxSuccessful()) {
+            responseCache.invalidate(tags.apply(readJson(response.getBody())));
+        }
+        return response;
     }
 
     protected <T> ResponseEntity<Object> post(String path, T body) {
@@ -81,6 +181,9 @@ public class BaseClient {
 
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+        if (passthrough) {
+            return sendPassthroughRequest(method, path, parameters, requestEntity);
+        }
         ResponseEntity<Object> shareitServerResponse;
         try {
             if (parameters != null) {
@@ -94,6 +197,48 @@ public class BaseClient {
         return prepareGatewayResponse(shareitServerResponse);
     }
 
+    private <T> ResponseEntity<Object> sendPassthroughRequest(HttpMethod method, String path, @Nullable Map<String, Object> parameters, HttpEntity<T> requestEntity) {
+        ResponseEntity<byte[]> shareitServerResponse;
+        try {
+            if (parameters != null) {
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class, parameters);
+            } else {
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class);
+            }
+        } catch (HttpStatusCodeException e) {
+            return ResponseEntity.status(e.getStatusCode())
+                    .headers(HopByHopHeaders.strip(e.getResponseHeaders()))
+                    .body(e.getResponseBodyAsByteArray());
+        }
+        return ResponseEntity.status(shareitServerResponse.getStatusCode())
+                .headers(HopByHopHeaders.strip(shareitServerResponse.getHeaders()))
+                .body(shareitServerResponse.getBody());
+    }
+
+    private URI expand(String path, @Nullable Map<String, Object> parameters) {
+        return parameters != null
+                ? rest.getUriTemplateHandler().expand(path, parameters)
+                : rest.getUriTemplateHandler().expand(path);
+    }
+
+    private static JsonNode readJson(@Nullable Object body) {
+        if (body == null) {
+            return MissingNode.getInstance();
+        }
+        if (!(body instanceof byte[])) {
+            return JSON.valueToTree(body);
+        }
+        try {
+            return JSON.readTree((byte[]) body);
+        } catch (IOException e) {
+            return MissingNode.getInstance();
+        }
+    }
+
+    private static String requestKey(URI uri, Long userId) {
+        return uri + "|" + userId;
+    }
+
     private HttpHeaders defaultHeaders(Long userId) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.Nullable;
+
+import java.util.Set;
+
+final class HopByHopHeaders {
+    private static final Set<String> NAMES = Set.of(
+            HttpHeaders.CONNECTION,
+            HttpHeaders.TRANSFER_ENCODING,
+            HttpHeaders.UPGRADE,
+            HttpHeaders.PROXY_AUTHENTICATE,
+            HttpHeaders.PROXY_AUTHORIZATION,
+            HttpHeaders.TE,
+            HttpHeaders.TRAILER,
+            "Keep-Alive"
+    );
+
+    private HopByHopHeaders() {
+    }
+
+    static HttpHeaders strip(@Nullable HttpHeaders headers) {
+        HttpHeaders endToEndHeaders = new HttpHeaders();
+        if (headers != null) {
+            headers.forEach((name, values) -> {
+                if (NAMES.stream().noneMatch(name::equalsIgnoreCase)) {
+                    endToEndHeaders.addAll(name, values);
+                }
+            });
+        }
+        return endToEndHeaders;
+    }
+}
@@ -0,0 +1,69 @@
+package ru.practicum.shareit.client;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@Profile("!reactive")
+@EnableConfigurationProperties({HttpClientProperties.class, ResponseCacheProperties.class})
+public class HttpClientConfig {
+
+    private static final String POOL_NAME = "shareit-server";
+
+    @Bean(destroyMethod = "close")
+    public InstrumentedConnectionManager shareItServerConnectionManager(HttpClientProperties properties) {
+        InstrumentedConnectionManager connectionManager = new InstrumentedConnectionManager(POOL_NAME);
+        connectionManager.setMaxTotal(properties.getMaxTotal());
+        connectionManager.setDefaultMaxPerRoute(properties.getMaxPerRoute());
+        connectionManager.setValidateAfterInactivity((int) properties.getValidateAfterInactivity().toMillis());
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient shareItServerHttpClient(PoolingHttpClientConnectionManager connectionManager,
+                                                      HttpClientProperties properties) {
+        long keepAlive = properties.getKeepAlive().toMillis();
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectTimeout((int) properties.getConnectTimeout().toMillis())
+                        .setConnectionRequestTimeout((int) properties.getConnectionRequestTimeout().toMillis())
+                        .setSocketTimeout((int) properties.getSocketTimeout().toMillis())
+                        .build())
+                .setKeepAliveStrategy((response, context) -> {
+                    long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                    return serverKeepAlive > 0 ? Math.min(serverKeepAlive, keepAlive) : keepAlive;
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(properties.getIdleTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    @Bean
+    public ClientHttpRequestFactory shareItServerRequestFactory(CloseableHttpClient httpClient) {
+        HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
+        requestFactory.setBufferRequestBody(false);
+        return requestFactory;
+    }
+
+    @Bean
+    public ResponseCache shareItServerResponseCache(ResponseCacheProperties properties) {
+        return new ResponseCache(properties);
+    }
+
+    @Bean
+    public RequestCoalescer shareItServerRequestCoalescer() {
+        return new RequestCoalescer();
+    }
+}
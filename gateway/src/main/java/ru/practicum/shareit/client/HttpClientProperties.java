@@ -0,0 +1,21 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.http-client")
+public class HttpClientProperties {
+    private int maxTotal = 200;
+    private int maxPerRoute = 100;
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    private Duration connectionRequestTimeout = Duration.ofSeconds(2);
+    private Duration socketTimeout = Duration.ofSeconds(10);
+    private Duration keepAlive = Duration.ofSeconds(30);
+    private Duration idleTimeout = Duration.ofSeconds(30);
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+}
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class InstrumentedConnectionManager extends PoolingHttpClientConnectionManager implements MeterBinder {
+
+    private final String poolName;
+    private volatile Timer leaseTimer;
+
+    public InstrumentedConnectionManager(String poolName) {
+        this.poolName = poolName;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        new PoolingHttpClientConnectionManagerMetricsBinder(this, poolName).bindTo(registry);
+        leaseTimer = Timer.builder("httpcomponents.httpclient.pool.lease")
+                .description("Time spent waiting for a pooled connection")
+                .tag("httpclient", poolName)
+                .register(registry);
+    }
+
+    @Override
+    public ConnectionRequest requestConnection(HttpRoute route, Object state) {
+        ConnectionRequest request = super.requestConnection(route, state);
+        return new ConnectionRequest() {
+            @Override
+            public HttpClientConnection get(long timeout, TimeUnit timeUnit)
+                    throws InterruptedException, ExecutionException, ConnectionPoolTimeoutException {
+                long start = System.nanoTime();
+                try {
+                    return request.get(timeout, timeUnit);
+                } finally {
+                    Timer timer = leaseTimer;
+                    if (timer != null) {
+                        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    }
+                }
+            }
+
+            @Override
+            public boolean cancel() {
+                return request.cancel();
+            }
+        };
+    }
+}
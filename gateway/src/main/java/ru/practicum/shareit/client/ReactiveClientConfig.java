@@ -0,0 +1,46 @@
+package ru.practicum.shareit.client;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+@Configuration
+@Profile("reactive")
+@EnableConfigurationProperties(HttpClientProperties.class)
+public class ReactiveClientConfig {
+
+    private static final String POOL_NAME = "shareit-server";
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider shareItServerConnectionProvider(HttpClientProperties properties) {
+        return ConnectionProvider.builder(POOL_NAME)
+                .maxConnections(properties.getMaxTotal())
+                .pendingAcquireTimeout(properties.getConnectionRequestTimeout())
+                .maxIdleTime(properties.getIdleTimeout())
+                .maxLifeTime(properties.getKeepAlive())
+                .evictInBackground(properties.getIdleTimeout())
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public ClientHttpConnector shareItServerConnector(ConnectionProvider connectionProvider,
+                                                      HttpClientProperties properties) {
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .responseTimeout(properties.getSocketTimeout());
+        return new ReactorClientHttpConnector(httpClient);
+    }
+}
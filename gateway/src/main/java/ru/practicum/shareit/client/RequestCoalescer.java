@@ -0,0 +1,69 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+public class RequestCoalescer implements MeterBinder {
+
+    private static final String METRIC_NAME = "shareit.gateway.requests.coalescing";
+
+    private final ConcurrentMap<String, CompletableFuture<ResponseEntity<Object>>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder upstreamCalls = new LongAdder();
+    private final LongAdder sharedCalls = new LongAdder();
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder(METRIC_NAME, upstreamCalls, LongAdder::sum)
+                .description("Reads forwarded to the server or joined from an identical in-flight read")
+                .tag("result", "upstream")
+                .register(registry);
+        FunctionCounter.builder(METRIC_NAME, sharedCalls, LongAdder::sum)
+                .description("Reads forwarded to the server or joined from an identical in-flight read")
+                .tag("result", "shared")
+                .register(registry);
+        Gauge.builder(METRIC_NAME + ".in.flight", inFlight, ConcurrentMap::size)
+                .description("Distinct reads currently waiting for the server")
+                .register(registry);
+    }
+
+    ResponseEntity<Object> execute(String key, Supplier<ResponseEntity<Object>> upstreamCall) {
+        CompletableFuture<ResponseEntity<Object>> pending = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<Object>> running = inFlight.putIfAbsent(key, pending);
+        if (running != null) {
+            sharedCalls.increment();
+            return join(running);
+        }
+        upstreamCalls.increment();
+        try {
+            ResponseEntity<Object> response = upstreamCall.get();
+            pending.complete(response);
+            return response;
+        } catch (RuntimeException | Error e) {
+            pending.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, pending);
+        }
+    }
+
+    private static ResponseEntity<Object> join(CompletableFuture<ResponseEntity<Object>> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
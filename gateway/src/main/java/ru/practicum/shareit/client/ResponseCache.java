@@ -0,0 +1,143 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+public class ResponseCache implements MeterBinder {
+
+    public static final String ITEMS = "items";
+    public static final String ITEM_SEARCH = "item-search";
+    public static final String REQUESTS = "requests";
+
+    private static final String CACHE_NAME = "shareit-server-responses";
+
+    private final Cache<Key, CachedResponse> cache;
+    // an entry is stale once any of its tags is invalidated after its request started
+    private final Cache<Tag, Long> invalidatedAt;
+    private final long ttlNanos;
+
+    public ResponseCache(ResponseCacheProperties properties) {
+        Duration revalidateFor = properties.getTtl().plus(properties.getRevalidateFor());
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfterWrite(revalidateFor)
+                .recordStats()
+                .build();
+        this.invalidatedAt = Caffeine.newBuilder()
+                .expireAfterWrite(revalidateFor)
+                .build();
+        this.ttlNanos = properties.getTtl().toNanos();
+    }
+
+    public static Tag item(long itemId) {
+        return new Tag(ITEMS, itemId);
+    }
+
+    public static Tag request(long requestId) {
+        return new Tag(REQUESTS, requestId);
+    }
+
+    public static Tag region(String region) {
+        return new Tag(region, null);
+    }
+
+    public static Set<Tag> items(Iterable<JsonNode> items) {
+        Set<Tag> tags = new HashSet<>();
+        for (JsonNode item : items) {
+            JsonNode id = item.path("id");
+            if (id.canConvertToLong()) {
+                tags.add(item(id.asLong()));
+            }
+        }
+        return tags;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+
+    @Nullable
+    CachedResponse get(Key key) {
+        return cache.getIfPresent(key);
+    }
+
+    CachedResponse put(Key key, Collection<Tag> dependencies, long requestedAt,
+                       HttpStatus status, HttpHeaders headers, @Nullable byte[] body) {
+        Set<Tag> tags = new HashSet<>(dependencies);
+        tags.add(region(key.getRegion()));
+        if (key.getId() != null) {
+            tags.add(new Tag(key.getRegion(), key.getId()));
+        }
+        CachedResponse response = new CachedResponse(status, headers, body, requestedAt, tags);
+        cache.put(key, response);
+        return response;
+    }
+
+    void invalidate(Collection<Tag> tags) {
+        long now = System.nanoTime();
+        for (Tag tag : tags) {
+            invalidatedAt.put(tag, now);
+        }
+    }
+
+    boolean isFresh(CachedResponse response) {
+        return System.nanoTime() - response.getStoredAt() < ttlNanos && !isInvalidated(response);
+    }
+
+    private boolean isInvalidated(CachedResponse response) {
+        for (Tag tag : response.getTags()) {
+            Long at = invalidatedAt.getIfPresent(tag);
+            if (at != null && at - response.getStoredAt() >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Value
+    public static class Tag {
+        String region;
+        Long id;
+    }
+
+    @Value
+    static class Key {
+        String region;
+        Long id;
+        String uri;
+        Long userId;
+    }
+
+    @Value
+    static class CachedResponse {
+        HttpStatus status;
+        HttpHeaders headers;
+        byte[] body;
+        long storedAt;
+        Set<Tag> tags;
+
+        @Nullable
+        String getEtag() {
+            return headers.getETag();
+        }
+
+        ResponseEntity<Object> toResponseEntity() {
+            return ResponseEntity.status(status).headers(headers).body(body);
+        }
+    }
+}
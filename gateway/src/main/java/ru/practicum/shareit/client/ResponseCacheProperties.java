@@ -0,0 +1,16 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.response-cache")
+public class ResponseCacheProperties {
+    private long maxSize = 10_000;
+    private Duration ttl = Duration.ofSeconds(5);
+    private Duration revalidateFor = Duration.ofMinutes(10);
+}
@@ -1,9 +1,11 @@
 package ru.practicum.shareit.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
 
 import static org.springframework.http.HttpStatus.*;
 
@@ -11,6 +13,8 @@ import static org.springframework.http.HttpStatus.*;
 @RestControllerAdvice
 public class ExceptionController {
 
+    private static final String INVALID_BODY = "Ошибка в теле запроса";
+
     @ExceptionHandler
     @ResponseStatus(BAD_REQUEST)
     public ErrorResponse handleValidationException(final ValidationException e) {
@@ -22,4 +26,16 @@ public class ExceptionController {
     public ErrorResponse handleIllegalArgumentException(final IllegalArgumentException e) {
         return new ErrorResponse(e.getMessage());
     }
+
+    @ExceptionHandler
+    @ResponseStatus(BAD_REQUEST)
+    public ErrorResponse handleMethodArgumentNotValidException(final MethodArgumentNotValidException e) {
+        return new ErrorResponse(INVALID_BODY);
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(BAD_REQUEST)
+    public ErrorResponse handleWebExchangeBindException(final WebExchangeBindException e) {
+        return new ErrorResponse(INVALID_BODY);
+    }
 }
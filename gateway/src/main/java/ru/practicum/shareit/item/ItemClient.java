@@ -3,37 +3,55 @@ package ru.practicum.shareit.item;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
 import ru.practicum.shareit.item.dto.CreateCommentDto;
 import ru.practicum.shareit.item.dto.CreateItemDto;
 
+import java.time.LocalDateTime;
 import java.util.Map;
 
 @Service
+@Profile("!reactive")
 public class ItemClient extends BaseClient {
 
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl,
+                      @Value("${shareit-server.passthrough:false}") boolean passthrough,
+                      RestTemplateBuilder builder,
+                      ClientHttpRequestFactory requestFactory,
+                      ResponseCache responseCache,
+                      RequestCoalescer requestCoalescer) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                passthrough,
+                responseCache,
+                requestCoalescer
         );
     }
 
     public ResponseEntity<Object> createItem(CreateItemDto itemDto, long userId) {
-        return post("", userId, itemDto);
+        ResponseEntity<Object> response = post("", userId, itemDto);
+        if (itemDto.getRequestId() != null) {
+            return invalidateOnSuccess(response, ResponseCache.region(ResponseCache.ITEM_SEARCH),
+                    ResponseCache.request(itemDto.getRequestId()));
+        }
+        return invalidateOnSuccess(response, ResponseCache.region(ResponseCache.ITEM_SEARCH));
     }
 
     public ResponseEntity<Object> getItem(long itemId, long userId) {
-        return get("/" + itemId, userId);
+        return getCached(ResponseCache.ITEMS, itemId, "/" + itemId, userId, null);
     }
 
     public ResponseEntity<Object> getUserItems(int from, int size, long userId) {
@@ -45,23 +63,36 @@ public class ItemClient extends BaseClient {
     }
 
     public ResponseEntity<Object> updateItem(long itemId, CreateItemDto patch, long userId) {
-        return patch("/" + itemId, userId, patch);
+        return invalidateOnSuccess(patch("/" + itemId, userId, patch),
+                ResponseCache.item(itemId), ResponseCache.region(ResponseCache.ITEM_SEARCH));
     }
 
     public ResponseEntity<Object> deleteItem(long itemId, long userId) {
-        return delete("/" + itemId, userId);
+        return invalidateOnSuccess(delete("/" + itemId, userId), ResponseCache.item(itemId));
     }
 
-    public ResponseEntity<Object> searchItems(int from, int size, String text) {
+    public ResponseEntity<Object> searchItems(int from, int size, String text, LocalDateTime start, LocalDateTime end) {
+        if (start == null) {
+            Map<String, Object> parameters = Map.of(
+                    "text", text,
+                    "from", from,
+                    "size", size
+            );
+            return getCached(ResponseCache.ITEM_SEARCH, null, "/search?text={text}&from={from}&size={size}", null, parameters,
+                    ResponseCache::items);
+        }
         Map<String, Object> parameters = Map.of(
                 "text", text,
+                "start", start,
+                "end", end,
                 "from", from,
                 "size", size
         );
-        return get("/search?text={text}&from={from}&size={size}", null, parameters);
+        return getCached(ResponseCache.ITEM_SEARCH, null, "/search?text={text}&start={start}&end={end}&from={from}&size={size}", null, parameters,
+                ResponseCache::items);
     }
 
     public ResponseEntity<Object> postComment(long itemId, CreateCommentDto commentDto, long userId) {
-        return post("/" + itemId + "/comment", userId, commentDto);
+        return invalidateOnSuccess(post("/" + itemId + "/comment", userId, commentDto), ResponseCache.item(itemId));
     }
 }
@@ -2,6 +2,8 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
@@ -9,12 +11,15 @@ import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.CreateCommentDto;
 import ru.practicum.shareit.item.dto.CreateItemDto;
+import ru.practicum.shareit.validation.Patch;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.time.LocalDateTime;
 
 @Controller
+@Profile("!reactive")
 @RequestMapping(path = "/items")
 @RequiredArgsConstructor
 @Slf4j
@@ -54,12 +59,9 @@ public class ItemController {
     @PatchMapping("/{itemId}")
     public ResponseEntity<Object> updateItem(
             @PathVariable long itemId,
-            @RequestBody CreateItemDto patch,
+            @RequestBody @Validated(Patch.class) CreateItemDto patch,
             @RequestHeader ("X-Sharer-User-Id") long userId
-    ) throws ValidationException {
-        if (notValid(patch)) {
-            throw new ValidationException("Ошибка в теле запроса");
-        }
+    ) {
         log.info("Update item {}, id={} by user id={}", patch, itemId, userId);
         return itemClient.updateItem(itemId, patch, userId);
     }
@@ -77,10 +79,13 @@ public class ItemController {
     public ResponseEntity<Object> searchItems(
             @PositiveOrZero @RequestParam(required = false, defaultValue = "0") int from,
             @Positive @RequestParam(required = false, defaultValue = "10") int size,
-            @RequestParam String text
-    ) {
-        log.info("Search items text={}, from={}, size={}", text, from, size);
-        return itemClient.searchItems(from, size,text);
+            @RequestParam String text,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end
+    ) throws ValidationException {
+        SearchPeriod.check(start, end);
+        log.info("Search items text={}, start={}, end={}, from={}, size={}", text, start, end, from, size);
+        return itemClient.searchItems(from, size, text, start, end);
     }
 
     @PostMapping("/{itemId}/comment")
@@ -92,10 +97,4 @@ public class ItemController {
         log.info("Post comment {} to item id={} by user id={}", commentDto, itemId, userId);
         return itemClient.postComment(itemId, commentDto, userId);
     }
-
-    private boolean notValid(CreateItemDto itemDto) {
-        boolean isBlankName = itemDto.getName() != null && itemDto.getName().isBlank();
-        boolean isBlankDescription = itemDto.getDescription() != null && itemDto.getDescription().isBlank();
-        return isBlankName || isBlankDescription;
-    }
 }
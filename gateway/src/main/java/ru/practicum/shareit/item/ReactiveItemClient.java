@@ -0,0 +1,74 @@
+package ru.practicum.shareit.item;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.item.dto.CreateCommentDto;
+import ru.practicum.shareit.item.dto.CreateItemDto;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Service
+@Profile("reactive")
+public class ReactiveItemClient extends ReactiveBaseClient {
+
+    private static final String API_PREFIX = "/items";
+
+    @Autowired
+    public ReactiveItemClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder) {
+        super(builder.baseUrl(serverUrl + API_PREFIX).build());
+    }
+
+    public Mono<ResponseEntity<byte[]>> createItem(CreateItemDto itemDto, long userId) {
+        return post("", userId, itemDto);
+    }
+
+    public Mono<ResponseEntity<byte[]>> getItem(long itemId, long userId) {
+        return get("/" + itemId, userId);
+    }
+
+    public Mono<ResponseEntity<byte[]>> getUserItems(int from, int size, long userId) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "size", size
+        );
+        return get("?from={from}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<byte[]>> updateItem(long itemId, CreateItemDto patch, long userId) {
+        return patch("/" + itemId, userId, patch);
+    }
+
+    public Mono<ResponseEntity<byte[]>> deleteItem(long itemId, long userId) {
+        return delete("/" + itemId, userId);
+    }
+
+    public Mono<ResponseEntity<byte[]>> searchItems(int from, int size, String text, LocalDateTime start, LocalDateTime end) {
+        if (start == null) {
+            Map<String, Object> parameters = Map.of(
+                    "text", text,
+                    "from", from,
+                    "size", size
+            );
+            return get("/search?text={text}&from={from}&size={size}", null, parameters);
+        }
+        Map<String, Object> parameters = Map.of(
+                "text", text,
+                "start", start,
+                "end", end,
+                "from", from,
+                "size", size
+        );
+        return get("/search?text={text}&start={start}&end={end}&from={from}&size={size}", null, parameters);
+    }
+
+    public Mono<ResponseEntity<byte[]>> postComment(long itemId, CreateCommentDto commentDto, long userId) {
+        return post("/" + itemId + "/comment", userId, commentDto);
+    }
+}
@@ -0,0 +1,101 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.CreateCommentDto;
+import ru.practicum.shareit.item.dto.CreateItemDto;
+import ru.practicum.shareit.validation.Patch;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+import java.time.LocalDateTime;
+
+@Controller
+@Profile("reactive")
+@RequestMapping(path = "/items")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+public class ReactiveItemController {
+
+    private final ReactiveItemClient itemClient;
+
+    @PostMapping
+    public Mono<ResponseEntity<byte[]>> createItem(
+            @RequestBody @Valid CreateItemDto itemDto,
+            @RequestHeader("X-Sharer-User-Id") long userId
+    ) {
+        log.info("Create item {} by user id={}", itemDto, userId);
+        return itemClient.createItem(itemDto, userId);
+    }
+
+    @GetMapping("/{itemId}")
+    public Mono<ResponseEntity<byte[]>> getItem(
+            @PathVariable long itemId,
+            @RequestHeader("X-Sharer-User-Id") long userId
+    ) {
+        log.info("Get item id={} by user id={}", itemId, userId);
+        return itemClient.getItem(itemId, userId);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<byte[]>> getUserItems(
+            @PositiveOrZero @RequestParam(required = false, defaultValue = "0") int from,
+            @Positive @RequestParam(required = false, defaultValue = "10") int size,
+            @RequestHeader("X-Sharer-User-Id") long userId
+    ) {
+        log.info("Get items userId={}, from={}, size={}", userId, from, size);
+        return itemClient.getUserItems(from, size, userId);
+    }
+
+    @PatchMapping("/{itemId}")
+    public Mono<ResponseEntity<byte[]>> updateItem(
+            @PathVariable long itemId,
+            @RequestBody @Validated(Patch.class) CreateItemDto patch,
+            @RequestHeader("X-Sharer-User-Id") long userId
+    ) {
+        log.info("Update item {}, id={} by user id={}", patch, itemId, userId);
+        return itemClient.updateItem(itemId, patch, userId);
+    }
+
+    @DeleteMapping("/{itemId}")
+    public Mono<ResponseEntity<byte[]>> deleteItem(
+            @PathVariable long itemId,
+            @RequestHeader("X-Sharer-User-Id") long userId
+    ) {
+        log.info("Delete item id={} by user id={}", itemId, userId);
+        return itemClient.deleteItem(itemId, userId);
+    }
+
+    @GetMapping("/search")
+    public Mono<ResponseEntity<byte[]>> searchItems(
+            @PositiveOrZero @RequestParam(required = false, defaultValue = "0") int from,
+            @Positive @RequestParam(required = false, defaultValue = "10") int size,
+            @RequestParam String text,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end
+    ) throws ValidationException {
+        SearchPeriod.check(start, end);
+        log.info("Search items text={}, start={}, end={}, from={}, size={}", text, start, end, from, size);
+        return itemClient.searchItems(from, size, text, start, end);
+    }
+
+    @PostMapping("/{itemId}/comment")
+    public Mono<ResponseEntity<byte[]>> postComment(
+            @PathVariable long itemId,
+            @RequestBody @Valid CreateCommentDto commentDto,
+            @RequestHeader("X-Sharer-User-Id") long userId
+    ) {
+        log.info("Post comment {} to item id={} by user id={}", commentDto, itemId, userId);
+        return itemClient.postComment(itemId, commentDto, userId);
+    }
+}
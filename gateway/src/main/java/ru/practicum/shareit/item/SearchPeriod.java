@@ -0,0 +1,18 @@
+package ru.practicum.shareit.item;
+
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.time.LocalDateTime;
+
+final class SearchPeriod {
+
+    private SearchPeriod() {
+    }
+
+    static void check(LocalDateTime start, LocalDateTime end) throws ValidationException {
+        boolean valid = start == null || end == null ? start == end : end.isAfter(start);
+        if (!valid) {
+            throw new ValidationException("Некорректный период поиска");
+        }
+    }
+}
@@ -3,17 +3,21 @@ package ru.practicum.shareit.item.dto;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import ru.practicum.shareit.validation.Patch;
 
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Pattern;
 
 @Getter
 @AllArgsConstructor
 @NoArgsConstructor
 public class CreateItemDto {
     @NotBlank
+    @Pattern(regexp = ".*\\S.*", flags = Pattern.Flag.DOTALL, groups = Patch.class)
     private String name;
     @NotBlank
+    @Pattern(regexp = ".*\\S.*", flags = Pattern.Flag.DOTALL, groups = Patch.class)
     private String description;
     @NotNull
     private Boolean available;
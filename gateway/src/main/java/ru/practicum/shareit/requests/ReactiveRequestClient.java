@@ -0,0 +1,45 @@
+package ru.practicum.shareit.requests;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.requests.dto.CreateRequestDto;
+
+import java.util.Map;
+
+@Service
+@Profile("reactive")
+public class ReactiveRequestClient extends ReactiveBaseClient {
+
+    private static final String API_PREFIX = "/requests";
+
+    @Autowired
+    public ReactiveRequestClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder) {
+        super(builder.baseUrl(serverUrl + API_PREFIX).build());
+    }
+
+    public Mono<ResponseEntity<byte[]>> createRequest(CreateRequestDto requestDto, long userId) {
+        return post("", userId, requestDto);
+    }
+
+    public Mono<ResponseEntity<byte[]>> getUserRequests(long userId) {
+        return get("", userId);
+    }
+
+    public Mono<ResponseEntity<byte[]>> getRequests(int from, int size, long userId) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "size", size
+        );
+        return get("/all?from={from}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<byte[]>> getRequest(long requestId, long userId) {
+        return get("/" + requestId, userId);
+    }
+}
@@ -0,0 +1,62 @@
+package ru.practicum.shareit.requests;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.requests.dto.CreateRequestDto;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+
+@Controller
+@Profile("reactive")
+@RequestMapping(path = "/requests")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+public class ReactiveRequestController {
+
+    private final ReactiveRequestClient requestClient;
+
+    @PostMapping
+    public Mono<ResponseEntity<byte[]>> createRequest(
+            @RequestBody @Valid CreateRequestDto requestDto,
+            @RequestHeader("X-Sharer-User-Id") long userId
+    ) {
+        log.info("Creating request {} by user id={}", requestDto, userId);
+        return requestClient.createRequest(requestDto, userId);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<byte[]>> getUserRequests(
+            @RequestHeader("X-Sharer-User-Id") long userId
+    ) {
+        log.info("Get requests user id={}", userId);
+        return requestClient.getUserRequests(userId);
+    }
+
+    @GetMapping("/all")
+    public Mono<ResponseEntity<byte[]>> getRequests(
+            @RequestHeader("X-Sharer-User-Id") long userId,
+            @PositiveOrZero @RequestParam(required = false, defaultValue = "0") int from,
+            @Positive @RequestParam(required = false, defaultValue = "10") int size
+    ) {
+        log.info("Get requests from={}, size={} by user id={}", from, size, userId);
+        return requestClient.getRequests(from, size, userId);
+    }
+
+    @GetMapping("/{requestId}")
+    public Mono<ResponseEntity<byte[]>> getRequest(
+            @PathVariable long requestId,
+            @RequestHeader("X-Sharer-User-Id") long userId
+    ) {
+        log.info("Get request id={} by user id={}", requestId, userId);
+        return requestClient.getRequest(requestId, userId);
+    }
+}
@@ -3,27 +3,39 @@ package ru.practicum.shareit.requests;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
 import ru.practicum.shareit.requests.dto.CreateRequestDto;
 
 import java.util.Map;
 
 @Service
+@Profile("!reactive")
 public class RequestClient extends BaseClient {
 
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public RequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public RequestClient(@Value("${shareit-server.url}") String serverUrl,
+                         @Value("${shareit-server.passthrough:false}") boolean passthrough,
+                         RestTemplateBuilder builder,
+                         ClientHttpRequestFactory requestFactory,
+                         ResponseCache responseCache,
+                         RequestCoalescer requestCoalescer) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                passthrough,
+                responseCache,
+                requestCoalescer
         );
     }
 
@@ -44,6 +56,7 @@ public class RequestClient extends BaseClient {
     }
 
     public ResponseEntity<Object> getRequest(long requestId, long userId) {
-        return get("/" + requestId, userId);
+        return getCached(ResponseCache.REQUESTS, requestId, "/" + requestId, userId, null,
+                body -> ResponseCache.items(body.path("items")));
     }
 }
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.user;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.user.dto.CreateUserDto;
+
+@Service
+@Profile("reactive")
+public class ReactiveUserClient extends ReactiveBaseClient {
+
+    private static final String API_PREFIX = "/users";
+
+    @Autowired
+    public ReactiveUserClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder) {
+        super(builder.baseUrl(serverUrl + API_PREFIX).build());
+    }
+
+    public Mono<ResponseEntity<byte[]>> createUser(CreateUserDto userDto) {
+        return post("", userDto);
+    }
+
+    public Mono<ResponseEntity<byte[]>> getUser(long userId) {
+        return get("/" + userId);
+    }
+
+    public Mono<ResponseEntity<byte[]>> getAllUsers() {
+        return get("");
+    }
+
+    public Mono<ResponseEntity<byte[]>> updateUser(long userId, CreateUserDto patch) {
+        return patch("/" + userId, patch);
+    }
+
+    public Mono<ResponseEntity<byte[]>> deleteUser(long userId) {
+        return delete("/" + userId);
+    }
+}
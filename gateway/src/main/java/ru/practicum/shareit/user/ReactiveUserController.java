@@ -0,0 +1,64 @@
+package ru.practicum.shareit.user;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.user.dto.CreateUserDto;
+import ru.practicum.shareit.validation.Patch;
+
+import javax.validation.Valid;
+
+@Controller
+@Profile("reactive")
+@RequestMapping(path = "/users")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+public class ReactiveUserController {
+
+    private final ReactiveUserClient userClient;
+
+    @PostMapping
+    public Mono<ResponseEntity<byte[]>> createUser(
+            @RequestBody @Valid CreateUserDto userDto
+    ) {
+        log.info("Creating user {}", userDto);
+        return userClient.createUser(userDto);
+    }
+
+    @GetMapping("/{userId}")
+    public Mono<ResponseEntity<byte[]>> getUser(
+            @PathVariable long userId
+    ) {
+        log.info("Get user id={}", userId);
+        return userClient.getUser(userId);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<byte[]>> getAllUsers() {
+        log.info("Get all users");
+        return userClient.getAllUsers();
+    }
+
+    @PatchMapping("/{userId}")
+    public Mono<ResponseEntity<byte[]>> updateUser(
+            @PathVariable long userId,
+            @RequestBody @Validated(Patch.class) CreateUserDto patch
+    ) {
+        log.info("Patch user id={}, patch {}", userId, patch);
+        return userClient.updateUser(userId, patch);
+    }
+
+    @DeleteMapping("/{userId}")
+    public Mono<ResponseEntity<byte[]>> deleteUser(
+            @PathVariable long userId
+    ) {
+        log.info("Delete user id={}", userId);
+        return userClient.deleteUser(userId);
+    }
+}
@@ -3,25 +3,37 @@ package ru.practicum.shareit.user;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
 import ru.practicum.shareit.user.dto.CreateUserDto;
 
 @Service
+@Profile("!reactive")
 public class UserClient extends BaseClient {
 
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public UserClient(@Value("${shareit-server.url}") String serverUrl,
+                      @Value("${shareit-server.passthrough:false}") boolean passthrough,
+                      RestTemplateBuilder builder,
+                      ClientHttpRequestFactory requestFactory,
+                      ResponseCache responseCache,
+                      RequestCoalescer requestCoalescer) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                passthrough,
+                responseCache,
+                requestCoalescer
         );
     }
 
@@ -38,10 +50,14 @@ public class UserClient extends BaseClient {
     }
 
     public ResponseEntity<Object> updateUser(long userId, CreateUserDto patch) {
-        return patch("/" + userId, patch);
+        if (patch.getName() == null) {
+            return patch("/" + userId, patch);
+        }
+        return invalidateOnSuccess(patch("/" + userId, patch), ResponseCache.region(ResponseCache.ITEMS));
     }
 
     public ResponseEntity<Object> deleteUser(long userId) {
-        return delete("/" + userId);
+        return invalidateOnSuccess(delete("/" + userId), ResponseCache.region(ResponseCache.ITEMS),
+                ResponseCache.region(ResponseCache.ITEM_SEARCH), ResponseCache.region(ResponseCache.REQUESTS));
     }
 }
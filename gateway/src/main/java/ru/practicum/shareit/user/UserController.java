@@ -2,16 +2,18 @@ package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
-import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.user.dto.CreateUserDto;
+import ru.practicum.shareit.validation.Patch;
 
 import javax.validation.Valid;
 
 @Controller
+@Profile("!reactive")
 @RequestMapping(path = "/users")
 @RequiredArgsConstructor
 @Slf4j
@@ -45,11 +47,8 @@ public class UserController {
     @PatchMapping("/{userId}")
     public ResponseEntity<Object> updateUser(
             @PathVariable long userId,
-            @RequestBody CreateUserDto patch
-    ) throws ValidationException {
-        if (notValid(patch)) {
-            throw new ValidationException("Ошибка в теле запроса");
-        }
+            @RequestBody @Validated(Patch.class) CreateUserDto patch
+    ) {
         log.info("Patch user id={}, patch {}", userId, patch);
         return userClient.updateUser(userId, patch);
     }
@@ -61,10 +60,4 @@ public class UserController {
         log.info("Delete user id={}", userId);
         return userClient.deleteUser(userId);
     }
-
-    private boolean notValid(CreateUserDto userDto) {
-        boolean isBlankName = userDto.getName() != null && userDto.getName().isBlank();
-        boolean isBlankEmail = userDto.getEmail() != null && userDto.getEmail().isBlank();
-        return isBlankName || isBlankEmail;
-    }
 }
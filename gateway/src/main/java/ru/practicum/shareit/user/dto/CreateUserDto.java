@@ -4,17 +4,21 @@ package ru.practicum.shareit.user.dto;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import ru.practicum.shareit.validation.Patch;
 
 import javax.validation.constraints.Email;
 import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Pattern;
 
 @AllArgsConstructor
 @NoArgsConstructor
 @Getter
 public class CreateUserDto {
     @NotBlank
+    @Pattern(regexp = ".*\\S.*", flags = Pattern.Flag.DOTALL, groups = Patch.class)
     private String name;
     @NotBlank
     @Email
+    @Pattern(regexp = ".*\\S.*", flags = Pattern.Flag.DOTALL, groups = Patch.class)
     private String email;
 }
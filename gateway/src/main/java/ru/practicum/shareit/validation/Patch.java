@@ -0,0 +1,4 @@
+package ru.practicum.shareit.validation;
+
+public interface Patch {
+}
@@ -0,0 +1,77 @@
+package ru.practicum.shareit.booking.archive;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.dto.BookingDto;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+@Component
+public class BookingArchive {
+
+    private static final Sort BY_START_DESC = Sort.by(Sort.Order.desc("start"));
+    private static final Comparator<BookingDto> NEWEST_FIRST = Comparator.comparing(BookingDto::getStart)
+            .thenComparing(BookingDto::getId)
+            .reversed();
+
+    private final Duration horizon;
+
+    public BookingArchive(@Value("${shareit.booking-archive.horizon:P365D}") Duration horizon) {
+        this.horizon = horizon;
+    }
+
+    public LocalDateTime cutoff() {
+        return LocalDateTime.now().minus(horizon);
+    }
+
+    public List<BookingDto> page(Function<Pageable, List<BookingDto>> bookings,
+                              Function<Pageable, List<BookingDto>> archivedBookings,
+                              int from,
+                              int size) {
+        List<BookingDto> page = bookings.apply(PageRequest.of(from / size, size, BY_START_DESC));
+        if (isComplete(page, size)) {
+            return page;
+        }
+        int offset = from / size * size;
+        Pageable head = PageRequest.of(0, offset + size, BY_START_DESC);
+        List<BookingDto> bookingsHead = offset == 0 ? page : bookings.apply(head);
+        return merge(bookingsHead, archivedBookings.apply(head)).stream()
+                .skip(offset)
+                .limit(size)
+                .collect(Collectors.toList());
+    }
+
+    public List<BookingDto> page(List<BookingDto> page, Supplier<List<BookingDto>> archivedBookings, int size) {
+        if (isComplete(page, size)) {
+            return page;
+        }
+        return merge(page, archivedBookings.get()).stream()
+                .limit(size)
+                .collect(Collectors.toList());
+    }
+
+    private boolean isComplete(List<BookingDto> page, int size) {
+        return page.size() == size && !page.get(size - 1).getStart().isBefore(cutoff());
+    }
+
+    private List<BookingDto> merge(List<BookingDto> bookings, List<BookingDto> archivedBookings) {
+        if (archivedBookings.isEmpty()) {
+            return bookings;
+        }
+        List<BookingDto> merged = new ArrayList<>(bookings.size() + archivedBookings.size());
+        merged.addAll(bookings);
+        merged.addAll(archivedBookings);
+        merged.sort(NEWEST_FIRST);
+        return merged;
+    }
+}
@@ -0,0 +1,100 @@
+package ru.practicum.shareit.booking.archive;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.repository.ArchivedBookingRepository;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.lease.repository.SchedulerLeaseRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Slf4j
+@Component
+public class BookingArchiveJob {
+
+    static final String LEASE_NAME = "booking-archive";
+    private static final String METRIC_NAME = "shareit.booking.archive";
+
+    private final BookingRepository bookingRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
+    private final SchedulerLeaseRepository leaseRepository;
+    private final BookingArchive bookingArchive;
+    private final TransactionTemplate transactionTemplate;
+    private final String owner = UUID.randomUUID().toString();
+    private final int batchSize;
+    private final int maxBatches;
+    private final Duration leaseDuration;
+    private final DistributionSummary archivedRows;
+    private final Timer runDuration;
+
+    public BookingArchiveJob(BookingRepository bookingRepository,
+                             ArchivedBookingRepository archivedBookingRepository,
+                             SchedulerLeaseRepository leaseRepository,
+                             BookingArchive bookingArchive,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry registry,
+                             @Value("${shareit.booking-archive.batch-size:1000}") int batchSize,
+                             @Value("${shareit.booking-archive.max-batches:100}") int maxBatches,
+                             @Value("${shareit.booking-archive.lease:PT30M}") Duration leaseDuration) {
+        this.bookingRepository = bookingRepository;
+        this.archivedBookingRepository = archivedBookingRepository;
+        this.leaseRepository = leaseRepository;
+        this.bookingArchive = bookingArchive;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.leaseDuration = leaseDuration;
+        this.archivedRows = DistributionSummary.builder(METRIC_NAME + ".rows")
+                .description("Bookings moved to the archive per run")
+                .baseUnit("rows")
+                .register(registry);
+        this.runDuration = Timer.builder(METRIC_NAME + ".duration")
+                .description("Duration of booking archive runs that held the lease")
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking-archive.interval:PT10M}")
+    public void run() {
+        LocalDateTime now = LocalDateTime.now();
+        if (leaseRepository.tryAcquire(LEASE_NAME, owner, now, now.plus(leaseDuration)) == 0) {
+            log.debug("Booking archive lease is held by another instance");
+            return;
+        }
+        LocalDateTime cutoff = bookingArchive.cutoff();
+        long archived = runDuration.record(() -> archive(cutoff));
+        archivedRows.record(archived);
+        if (archived > 0) {
+            log.info("Archived {} bookings ended before {}", archived, cutoff);
+        }
+    }
+
+    private long archive(LocalDateTime cutoff) {
+        long archived = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            Integer moved = transactionTemplate.execute(status -> {
+                List<Long> ids = bookingRepository.findIdsByEndBefore(cutoff, PageRequest.of(0, batchSize));
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                archivedBookingRepository.copyFromBookings(ids);
+                return bookingRepository.deleteAllByIdIn(ids);
+            });
+            archived += moved;
+            if (moved < batchSize) {
+                break;
+            }
+        }
+        return archived;
+    }
+}
@@ -2,7 +2,9 @@ package ru.practicum.shareit.booking.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoCreate;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
@@ -12,7 +14,6 @@ import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.exception.*;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Slf4j
 @RestController
@@ -20,6 +21,8 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class BookingController {
 
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final BookingService bookingService;
     private final BookingMapper bookingMapper;
 
@@ -38,7 +41,7 @@ public class BookingController {
             @PathVariable long bookingId,
             @RequestParam boolean approved,
             @RequestHeader("X-Sharer-User-Id") long userId
-    ) throws NotFoundException, NotOwnerException, AlreadyApprovedException {
+    ) throws NotFoundException, NotOwnerException, AlreadyApprovedException, UnavailableException {
         Booking patchedBooking = bookingService.approveBooking(bookingId, approved, userId);
         log.info("Approve {} booking id={} by user id={}", approved, bookingId, userId);
         return bookingMapper.toBookingDto(patchedBooking);
@@ -48,47 +51,57 @@ public class BookingController {
     public BookingDto getBooking(
             @PathVariable long bookingId,
             @RequestHeader("X-Sharer-User-Id") long userId
-    ) throws Throwable {
-        Booking foundBooking = bookingService.findBooking(bookingId, userId);
-        if (!hasViewAccess(foundBooking, userId)) {
-            throw new AccessException("Ошибка доступа");
-        }
+    ) throws NotFoundException, AccessException {
+        BookingDto foundBooking = bookingService.findBooking(bookingId, userId);
         log.info("Get booking {}, userId={}", bookingId, userId);
-        return bookingMapper.toBookingDto(foundBooking);
+        return foundBooking;
     }
 
     @GetMapping
-    public List<BookingDto> getBookings(
+    public ResponseEntity<List<BookingDto>> getBookings(
             @RequestParam(required = false, defaultValue = "0") int from,
             @RequestParam(required = false, defaultValue = "10") int size,
             @RequestParam(required = false, defaultValue = "ALL") String state,
+            @RequestParam(required = false) String cursor,
             @RequestHeader("X-Sharer-User-Id") long userId
-    ) throws NotFoundException {
-        List<Booking> foundBookings = bookingService.findUserBookingsByState(userId, BookingState.valueOf(state), from, size);
+    ) throws NotFoundException, ValidationException {
+        if (cursor != null) {
+            List<BookingDto> foundBookings = bookingService.findUserBookingsPageByState(
+                    userId, BookingState.valueOf(state), BookingCursor.decode(cursor), size
+            );
+            log.info("Get booking with state {}, userId={}, cursor={}, size={}", state, userId, cursor, size);
+            return toPageResponse(foundBookings, size);
+        }
+        List<BookingDto> foundBookings = bookingService.findUserBookingsByState(userId, BookingState.valueOf(state), from, size);
         log.info("Get booking with state {}, userId={}, from={}, size={}", state, userId, from, size);
-        return foundBookings
-                .stream()
-                .map(bookingMapper::toBookingDto)
-                .collect(Collectors.toList());
+        return ResponseEntity.ok(foundBookings);
     }
 
     @GetMapping("/owner")
-    public List<BookingDto> getOwnerBookings(
+    public ResponseEntity<List<BookingDto>> getOwnerBookings(
             @RequestParam(required = false, defaultValue = "0") int from,
             @RequestParam(required = false, defaultValue = "10") int size,
             @RequestParam(required = false, defaultValue = "ALL") String state,
+            @RequestParam(required = false) String cursor,
             @RequestHeader("X-Sharer-User-Id") long userId
-    ) throws NotFoundException {
-        List<Booking> foundBookings = bookingService.findOwnerBookingsByState(userId, BookingState.valueOf(state), from, size);
+    ) throws NotFoundException, ValidationException {
+        if (cursor != null) {
+            List<BookingDto> foundBookings = bookingService.findOwnerBookingsPageByState(
+                    userId, BookingState.valueOf(state), BookingCursor.decode(cursor), size
+            );
+            log.info("Запрошены бронирования вещей пользователя {} в статусе {}, курсор {}", userId, state, cursor);
+            return toPageResponse(foundBookings, size);
+        }
+        List<BookingDto> foundBookings = bookingService.findOwnerBookingsByState(userId, BookingState.valueOf(state), from, size);
         log.info("Запрошены бронирования вещей пользователя {} в статусе {}",  userId, state);
-        return foundBookings
-                .stream()
-                .map(bookingMapper::toBookingDto)
-                .collect(Collectors.toList());
+        return ResponseEntity.ok(foundBookings);
     }
 
-    private boolean hasViewAccess(Booking booking, long id) {
-        return List.of(booking.getItem().getOwner(), booking.getBooker().getId())
-                .contains(id);
+    private ResponseEntity<List<BookingDto>> toPageResponse(List<BookingDto> bookings, int size) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (bookings.size() == size) {
+            response.header(NEXT_CURSOR_HEADER, BookingCursor.of(bookings.get(bookings.size() - 1)).encode());
+        }
+        return response.body(bookings);
     }
 }
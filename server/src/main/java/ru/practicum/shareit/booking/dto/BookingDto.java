@@ -18,4 +18,8 @@ public class BookingDto {
     private UserDtoShort booker;
     private ItemDtoShort item;
 
+    public BookingDto(long id, LocalDateTime start, LocalDateTime end, BookingStatus status,
+                      long bookerId, long itemId, String itemName) {
+        this(id, start, end, status, new UserDtoShort(bookerId), new ItemDtoShort(itemId, itemName));
+    }
 }
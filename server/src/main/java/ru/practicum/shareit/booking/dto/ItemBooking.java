@@ -0,0 +1,9 @@
+package ru.practicum.shareit.booking.dto;
+
+public interface ItemBooking {
+    long getId();
+
+    long getBookerId();
+
+    long getItemId();
+}
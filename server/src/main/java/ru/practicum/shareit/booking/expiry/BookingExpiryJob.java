@@ -0,0 +1,89 @@
+package ru.practicum.shareit.booking.expiry;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.lease.repository.SchedulerLeaseRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Slf4j
+@Component
+public class BookingExpiryJob {
+
+    static final String LEASE_NAME = "booking-expiry";
+    private static final String METRIC_NAME = "shareit.booking.expiry";
+
+    private final BookingRepository bookingRepository;
+    private final SchedulerLeaseRepository leaseRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final String owner = UUID.randomUUID().toString();
+    private final int batchSize;
+    private final int maxBatches;
+    private final Duration leaseDuration;
+    private final Duration grace;
+    private final DistributionSummary expiredRows;
+    private final Timer runDuration;
+
+    public BookingExpiryJob(BookingRepository bookingRepository,
+                            SchedulerLeaseRepository leaseRepository,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry registry,
+                            @Value("${shareit.booking-expiry.batch-size:1000}") int batchSize,
+                            @Value("${shareit.booking-expiry.max-batches:100}") int maxBatches,
+                            @Value("${shareit.booking-expiry.lease:PT5M}") Duration leaseDuration,
+                            @Value("${shareit.booking-expiry.grace:PT1H}") Duration grace) {
+        this.bookingRepository = bookingRepository;
+        this.leaseRepository = leaseRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.leaseDuration = leaseDuration;
+        this.grace = grace;
+        this.expiredRows = DistributionSummary.builder(METRIC_NAME + ".rows")
+                .description("Waiting bookings moved to EXPIRED per run")
+                .baseUnit("rows")
+                .register(registry);
+        this.runDuration = Timer.builder(METRIC_NAME + ".duration")
+                .description("Duration of booking expiry runs that held the lease")
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking-expiry.interval:PT1M}")
+    public void run() {
+        LocalDateTime now = LocalDateTime.now();
+        if (leaseRepository.tryAcquire(LEASE_NAME, owner, now, now.plus(leaseDuration)) == 0) {
+            log.debug("Booking expiry lease is held by another instance");
+            return;
+        }
+        LocalDateTime startedBefore = now.minus(grace);
+        long expired = runDuration.record(() -> expire(startedBefore));
+        expiredRows.record(expired);
+        if (expired > 0) {
+            log.info("Expired {} waiting bookings started before {}", expired, startedBefore);
+        }
+    }
+
+    private long expire(LocalDateTime currentTime) {
+        long expired = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            Integer updated = transactionTemplate.execute(
+                    status -> bookingRepository.expireWaitingStartedBefore(currentTime, batchSize)
+            );
+            expired += updated;
+            if (updated < batchSize) {
+                break;
+            }
+        }
+        return expired;
+    }
+}
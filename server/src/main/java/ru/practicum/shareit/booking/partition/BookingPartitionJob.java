@@ -0,0 +1,46 @@
+package ru.practicum.shareit.booking.partition;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.archive.BookingArchive;
+
+import java.time.LocalDate;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.booking-partitions.enabled", havingValue = "true")
+public class BookingPartitionJob {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BookingArchive bookingArchive;
+    private final int monthsAhead;
+
+    public BookingPartitionJob(JdbcTemplate jdbcTemplate,
+                               BookingArchive bookingArchive,
+                               @Value("${shareit.booking-partitions.months-ahead:12}") int monthsAhead) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.bookingArchive = bookingArchive;
+        this.monthsAhead = monthsAhead;
+    }
+
+    @Scheduled(initialDelayString = "PT1M", fixedDelayString = "${shareit.booking-partitions.interval:PT12H}")
+    public void run() {
+        LocalDate currentMonth = LocalDate.now().withDayOfMonth(1);
+        LocalDate archivedMonth = bookingArchive.cutoff().toLocalDate().withDayOfMonth(1);
+        try {
+            jdbcTemplate.queryForObject("select create_booking_partitions(?, ?)::text", String.class,
+                    currentMonth, currentMonth.plusMonths(monthsAhead));
+            Integer dropped = jdbcTemplate.queryForObject("select drop_empty_booking_partitions(?)", Integer.class,
+                    archivedMonth);
+            log.info("Booking partitions prepared until {}, {} archived partitions dropped",
+                    currentMonth.plusMonths(monthsAhead), dropped);
+        } catch (DataAccessException e) {
+            log.warn("Booking partition maintenance failed, will retry on the next run", e);
+        }
+    }
+}
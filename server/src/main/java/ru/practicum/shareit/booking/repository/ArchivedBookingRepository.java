@@ -0,0 +1,127 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import ru.practicum.shareit.booking.dto.BookerItem;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.ItemBooking;
+import ru.practicum.shareit.booking.model.ArchivedBooking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.annotations.QueryHints.NATIVE_SPACES;
+import static ru.practicum.shareit.booking.repository.BookingRepository.AFTER_CURSOR;
+
+public interface ArchivedBookingRepository extends JpaRepository<ArchivedBooking, Long> {
+
+    String ARCHIVED_BOOKING_DTO = "select new ru.practicum.shareit.booking.dto.BookingDto(" +
+            "b.id, b.start, b.end, b.status, b.booker.id, i.id, i.name) " +
+            "from ArchivedBooking b join b.item i ";
+
+    String ARCHIVED_ITEM_BOOKING = "select b.id as id, b.booker.id as bookerId, b.item.id as itemId " +
+            "from ArchivedBooking b ";
+
+    @Query(ARCHIVED_BOOKING_DTO + "where b.id = :bookingId " +
+            "and (b.booker.id = :userId or i.owner = :userId)")
+    Optional<BookingDto> findDtoByIdForUser(long bookingId, long userId);
+
+    @Query(ARCHIVED_BOOKING_DTO + "where i.owner = :userId")
+    List<BookingDto> findAllByItemOwner(long userId, Pageable pageable);
+
+    @Query(ARCHIVED_BOOKING_DTO + "where i.owner = :userId " +
+            "and b.end < :currentTime")
+    List<BookingDto> findAllByItemOwnerAndEndBefore(long userId, LocalDateTime currentTime, Pageable pageable);
+
+    @Query(ARCHIVED_BOOKING_DTO + "where i.owner = :userId " +
+            "and b.status = :status")
+    List<BookingDto> findAllByItemOwnerAndStatus(long userId, BookingStatus status, Pageable pageable);
+
+    @Query(ARCHIVED_BOOKING_DTO + "where b.booker.id = :userId")
+    List<BookingDto> findAllByBookerId(long userId, Pageable pageable);
+
+    @Query(ARCHIVED_BOOKING_DTO + "where b.booker.id = :userId " +
+            "and b.end < :currentTime")
+    List<BookingDto> findAllByBookerIdAndEndBefore(long userId, LocalDateTime currentTime, Pageable pageable);
+
+    @Query(ARCHIVED_BOOKING_DTO + "where b.booker.id = :userId " +
+            "and b.status = :status")
+    List<BookingDto> findAllByBookerIdAndStatus(long userId, BookingStatus status, Pageable pageable);
+
+    @Query(ARCHIVED_BOOKING_DTO +
+            "where b.booker.id = :userId " + AFTER_CURSOR)
+    List<BookingDto> findPageByBookerId(long userId, LocalDateTime start, long id, Pageable pageable);
+
+    @Query(ARCHIVED_BOOKING_DTO +
+            "where b.booker.id = :userId " +
+            "and b.end < :currentTime " + AFTER_CURSOR)
+    List<BookingDto> findPastPageByBookerId(long userId, LocalDateTime currentTime,
+                                            LocalDateTime start, long id, Pageable pageable);
+
+    @Query(ARCHIVED_BOOKING_DTO +
+            "where b.booker.id = :userId " +
+            "and b.status = :status " + AFTER_CURSOR)
+    List<BookingDto> findPageByBookerIdAndStatus(long userId, BookingStatus status,
+                                                 LocalDateTime start, long id, Pageable pageable);
+
+    @Query(ARCHIVED_BOOKING_DTO +
+            "where i.owner = :userId " + AFTER_CURSOR)
+    List<BookingDto> findPageByItemOwner(long userId, LocalDateTime start, long id, Pageable pageable);
+
+    @Query(ARCHIVED_BOOKING_DTO +
+            "where i.owner = :userId " +
+            "and b.end < :currentTime " + AFTER_CURSOR)
+    List<BookingDto> findPastPageByItemOwner(long userId, LocalDateTime currentTime,
+                                             LocalDateTime start, long id, Pageable pageable);
+
+    @Query(ARCHIVED_BOOKING_DTO +
+            "where i.owner = :userId " +
+            "and b.status = :status " + AFTER_CURSOR)
+    List<BookingDto> findPageByItemOwnerAndStatus(long userId, BookingStatus status,
+                                                  LocalDateTime start, long id, Pageable pageable);
+
+    boolean existsByBookerIdAndItemIdAndStatusAndStartBefore(long bookerId,
+                                                              long itemId,
+                                                              BookingStatus status,
+                                                              LocalDateTime currentTime);
+
+    @Query("select distinct b.booker.id as bookerId, b.item.id as itemId from ArchivedBooking b " +
+            "where b.status = :status " +
+            "and b.start < :currentTime " +
+            "order by b.booker.id")
+    Stream<BookerItem> findBookerItemsByStatusAndStartBefore(BookingStatus status, LocalDateTime currentTime);
+
+    @Query(ARCHIVED_ITEM_BOOKING +
+            "where b.item.id = :itemId " +
+            "and b.status = ru.practicum.shareit.booking.model.BookingStatus.APPROVED " +
+            "and b.end < :currentTime " +
+            "order by b.end desc, b.id desc")
+    List<ItemBooking> findLastByItemId(long itemId, LocalDateTime currentTime, Pageable pageable);
+
+    @Query(ARCHIVED_ITEM_BOOKING +
+            "where b.item.id in :itemIds " +
+            "and b.status = ru.practicum.shareit.booking.model.BookingStatus.APPROVED " +
+            "and b.end = (" +
+            "select max(lb.end) from ArchivedBooking lb " +
+            "where lb.item = b.item " +
+            "and lb.status = ru.practicum.shareit.booking.model.BookingStatus.APPROVED " +
+            "and lb.end < :currentTime) " +
+            "order by b.id desc")
+    List<ItemBooking> findLastByItemIdIn(Collection<Long> itemIds, LocalDateTime currentTime);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = NATIVE_SPACES, value = "bookings_archive"))
+    @Query(value = "insert into bookings_archive (id, start_date_time, end_date_time, item_id, booker_id, status) " +
+            "select id, start_date_time, end_date_time, item_id, booker_id, status from bookings " +
+            "where id in :ids",
+            nativeQuery = true)
+    int copyFromBookings(Collection<Long> ids);
+}
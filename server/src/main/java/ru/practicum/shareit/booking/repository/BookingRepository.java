@@ -2,48 +2,213 @@ package ru.practicum.shareit.booking.repository;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import ru.practicum.shareit.booking.dto.BookerItem;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.ItemBooking;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.annotations.QueryHints.NATIVE_SPACES;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
-    List<Booking> findAllByItemOwner(long userId, Pageable pageable);
+    String AFTER_CURSOR = "and (b.start < :start or (b.start = :start and b.id < :id)) " +
+            "order by b.start desc, b.id desc";
+
+    String BOOKING_DTO = "select new ru.practicum.shareit.booking.dto.BookingDto(" +
+            "b.id, b.start, b.end, b.status, b.booker.id, i.id, i.name) " +
+            "from Booking b join b.item i ";
+
+    String ITEM_BOOKING = "select b.id as id, b.booker.id as bookerId, b.item.id as itemId from Booking b ";
+
+    @Query(BOOKING_DTO + "where b.id = :bookingId " +
+            "and (b.booker.id = :userId or i.owner = :userId)")
+    Optional<BookingDto> findDtoByIdForUser(long bookingId, long userId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from Booking b where b.id = :bookingId")
+    Optional<Booking> findByIdForUpdate(long bookingId);
+
+    @Query("select b.item.id from Booking b where b.id = :bookingId")
+    Optional<Long> findItemIdById(long bookingId);
+
+    @Query(BOOKING_DTO + "where i.owner = :userId")
+    List<BookingDto> findAllByItemOwner(long userId, Pageable pageable);
 
-    @Query("select b from Booking b " +
-            "where b.item.owner = :userId " +
+    @Query(BOOKING_DTO +
+            "where i.owner = :userId " +
             "and :currentTime between b.start and b.end ")
-    List<Booking> findAllCurrentByItemOwner(long userId, LocalDateTime currentTime, Pageable pageable);
+    List<BookingDto> findAllCurrentByItemOwner(long userId, LocalDateTime currentTime, Pageable pageable);
 
-    List<Booking> findAllByItemOwnerAndEndBefore(long userId, LocalDateTime currentTime, Pageable pageable);
+    @Query(BOOKING_DTO + "where i.owner = :userId " +
+            "and b.end < :currentTime")
+    List<BookingDto> findAllByItemOwnerAndEndBefore(long userId, LocalDateTime currentTime, Pageable pageable);
 
-    List<Booking> findAllByItemOwnerAndStartAfter(long userId, LocalDateTime currentTime, Pageable pageable);
+    @Query(BOOKING_DTO + "where i.owner = :userId " +
+            "and b.start > :currentTime")
+    List<BookingDto> findAllByItemOwnerAndStartAfter(long userId, LocalDateTime currentTime, Pageable pageable);
 
-    List<Booking> findAllByItemOwnerAndStatus(long userId, BookingStatus status, Pageable pageable);
+    @Query(BOOKING_DTO + "where i.owner = :userId " +
+            "and b.status = :status")
+    List<BookingDto> findAllByItemOwnerAndStatus(long userId, BookingStatus status, Pageable pageable);
 
-    List<Booking> findAllByBookerId(long userId, Pageable pageable);
+    @Query(BOOKING_DTO + "where b.booker.id = :userId")
+    List<BookingDto> findAllByBookerId(long userId, Pageable pageable);
 
-    @Query("select b from Booking b " +
+    @Query(BOOKING_DTO +
             "where b.booker.id = :userId " +
             "and :currentTime between b.start and b.end ")
-    List<Booking> findAllCurrentByBookerId(long userId, LocalDateTime currentTime, Pageable pageable);
+    List<BookingDto> findAllCurrentByBookerId(long userId, LocalDateTime currentTime, Pageable pageable);
 
-    @Query("select b from Booking b " +
-            "where b.booker.id = :userId " +
-            "and :currentTime between b.start and b.end " +
-            "order by b.start desc")
-    List<Booking> findAllCurrentByBookerId(long userId, LocalDateTime currentTime);
+    @Query(BOOKING_DTO + "where b.booker.id = :userId " +
+            "and b.end < :currentTime")
+    List<BookingDto> findAllByBookerIdAndEndBefore(long userId, LocalDateTime currentTime, Pageable pageable);
+
+    @Query(BOOKING_DTO + "where b.booker.id = :userId " +
+            "and b.start > :currentTime")
+    List<BookingDto> findAllByBookerIdAndStartAfter(long userId, LocalDateTime currentTime, Pageable pageable);
 
-    List<Booking> findAllByBookerIdAndEndBefore(long userId, LocalDateTime currentTime, Pageable pageable);
+    @Query(BOOKING_DTO + "where b.booker.id = :userId " +
+            "and b.status = :status")
+    List<BookingDto> findAllByBookerIdAndStatus(long userId, BookingStatus status, Pageable pageable);
 
-    List<Booking> findAllByBookerIdAndEndBefore(long userId, LocalDateTime currentTime);
+    @Query(BOOKING_DTO +
+            "where b.booker.id = :userId " + AFTER_CURSOR)
+    List<BookingDto> findPageByBookerId(long userId, LocalDateTime start, long id, Pageable pageable);
 
-    List<Booking> findAllByBookerIdAndStartAfter(long userId, LocalDateTime currentTime, Pageable pageable);
+    @Query(BOOKING_DTO +
+            "where b.booker.id = :userId " +
+            "and :currentTime between b.start and b.end " + AFTER_CURSOR)
+    List<BookingDto> findCurrentPageByBookerId(long userId, LocalDateTime currentTime,
+                                               LocalDateTime start, long id, Pageable pageable);
 
-    List<Booking> findAllByBookerIdAndStatus(long userId, BookingStatus status, Pageable pageable);
+    @Query(BOOKING_DTO +
+            "where b.booker.id = :userId " +
+            "and b.end < :currentTime " + AFTER_CURSOR)
+    List<BookingDto> findPastPageByBookerId(long userId, LocalDateTime currentTime,
+                                            LocalDateTime start, long id, Pageable pageable);
 
-    List<Booking> findByItemIdOrderByStart(long itemId);
+    @Query(BOOKING_DTO +
+            "where b.booker.id = :userId " +
+            "and b.start > :currentTime " + AFTER_CURSOR)
+    List<BookingDto> findFuturePageByBookerId(long userId, LocalDateTime currentTime,
+                                              LocalDateTime start, long id, Pageable pageable);
+
+    @Query(BOOKING_DTO +
+            "where b.booker.id = :userId " +
+            "and b.status = :status " + AFTER_CURSOR)
+    List<BookingDto> findPageByBookerIdAndStatus(long userId, BookingStatus status,
+                                                 LocalDateTime start, long id, Pageable pageable);
+
+    @Query(BOOKING_DTO +
+            "where i.owner = :userId " + AFTER_CURSOR)
+    List<BookingDto> findPageByItemOwner(long userId, LocalDateTime start, long id, Pageable pageable);
+
+    @Query(BOOKING_DTO +
+            "where i.owner = :userId " +
+            "and :currentTime between b.start and b.end " + AFTER_CURSOR)
+    List<BookingDto> findCurrentPageByItemOwner(long userId, LocalDateTime currentTime,
+                                                LocalDateTime start, long id, Pageable pageable);
+
+    @Query(BOOKING_DTO +
+            "where i.owner = :userId " +
+            "and b.end < :currentTime " + AFTER_CURSOR)
+    List<BookingDto> findPastPageByItemOwner(long userId, LocalDateTime currentTime,
+                                             LocalDateTime start, long id, Pageable pageable);
+
+    @Query(BOOKING_DTO +
+            "where i.owner = :userId " +
+            "and b.start > :currentTime " + AFTER_CURSOR)
+    List<BookingDto> findFuturePageByItemOwner(long userId, LocalDateTime currentTime,
+                                               LocalDateTime start, long id, Pageable pageable);
+
+    @Query(BOOKING_DTO +
+            "where i.owner = :userId " +
+            "and b.status = :status " + AFTER_CURSOR)
+    List<BookingDto> findPageByItemOwnerAndStatus(long userId, BookingStatus status,
+                                                  LocalDateTime start, long id, Pageable pageable);
+
+    boolean existsByBookerIdAndItemIdAndStatusAndStartBefore(long bookerId,
+                                                              long itemId,
+                                                              BookingStatus status,
+                                                              LocalDateTime currentTime);
+
+    @Query("select distinct b.booker.id as bookerId, b.item.id as itemId from Booking b " +
+            "where b.status = :status " +
+            "and b.start < :currentTime " +
+            "order by b.booker.id")
+    Stream<BookerItem> findBookerItemsByStatusAndStartBefore(BookingStatus status, LocalDateTime currentTime);
+
+    boolean existsByItemIdAndStatusInAndStartBeforeAndEndAfter(long itemId,
+                                                               Collection<BookingStatus> statuses,
+                                                               LocalDateTime end,
+                                                               LocalDateTime start);
+
+    @Query(ITEM_BOOKING +
+            "where b.item.id = :itemId " +
+            "and b.status = ru.practicum.shareit.booking.model.BookingStatus.APPROVED " +
+            "and b.end < :currentTime " +
+            "order by b.end desc, b.id desc")
+    List<ItemBooking> findLastByItemId(long itemId, LocalDateTime currentTime, Pageable pageable);
+
+    @Query(ITEM_BOOKING +
+            "where b.item.id = :itemId " +
+            "and b.status = ru.practicum.shareit.booking.model.BookingStatus.APPROVED " +
+            "and b.end > :currentTime " +
+            "order by b.start, b.id")
+    List<ItemBooking> findNextByItemId(long itemId, LocalDateTime currentTime, Pageable pageable);
+
+    @Query(ITEM_BOOKING +
+            "where b.item.id in :itemIds " +
+            "and b.status = ru.practicum.shareit.booking.model.BookingStatus.APPROVED " +
+            "and b.end = (" +
+            "select max(lb.end) from Booking lb " +
+            "where lb.item = b.item " +
+            "and lb.status = ru.practicum.shareit.booking.model.BookingStatus.APPROVED " +
+            "and lb.end < :currentTime) " +
+            "order by b.id desc")
+    List<ItemBooking> findLastByItemIdIn(Collection<Long> itemIds, LocalDateTime currentTime);
+
+    @Query(ITEM_BOOKING +
+            "where b.item.id in :itemIds " +
+            "and b.status = ru.practicum.shareit.booking.model.BookingStatus.APPROVED " +
+            "and b.end > :currentTime " +
+            "and b.start = (" +
+            "select min(nb.start) from Booking nb " +
+            "where nb.item = b.item " +
+            "and nb.status = ru.practicum.shareit.booking.model.BookingStatus.APPROVED " +
+            "and nb.end > :currentTime) " +
+            "order by b.id")
+    List<ItemBooking> findNextByItemIdIn(Collection<Long> itemIds, LocalDateTime currentTime);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = NATIVE_SPACES, value = "bookings"))
+    @Query(value = "update bookings set status = 'EXPIRED' " +
+            "where status = 'WAITING' " +
+            "and id in (select sb.id from bookings sb " +
+            "where sb.status = 'WAITING' and sb.start_date_time < :currentTime " +
+            "order by sb.start_date_time, sb.id limit :batchSize)",
+            nativeQuery = true)
+    int expireWaitingStartedBefore(LocalDateTime currentTime, int batchSize);
+
+    @Query("select b.id from Booking b " +
+            "where b.end < :cutoff " +
+            "order by b.end, b.id")
+    List<Long> findIdsByEndBefore(LocalDateTime cutoff, Pageable pageable);
+
+    @Modifying
+    @Query("delete from Booking b where b.id in :ids")
+    int deleteAllByIdIn(Collection<Long> ids);
 }
@@ -1,5 +1,7 @@
 package ru.practicum.shareit.booking.service;
 
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoCreate;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingState;
@@ -11,11 +13,15 @@ public interface BookingService {
 
     Booking createBooking(BookingDtoCreate booking, long userId) throws NotFoundException, UnavailableException, AccessException;
 
-    Booking approveBooking(long bookingId, boolean approved, long userId) throws NotFoundException, NotOwnerException, AlreadyApprovedException;
+    Booking approveBooking(long bookingId, boolean approved, long userId) throws NotFoundException, NotOwnerException, AlreadyApprovedException, UnavailableException;
 
-    Booking findBooking(long bookingId, long userId) throws Throwable;
+    BookingDto findBooking(long bookingId, long userId) throws NotFoundException, AccessException;
 
-    List<Booking> findUserBookingsByState(long userId, BookingState state, int from, int size) throws NotFoundException;
+    List<BookingDto> findUserBookingsByState(long userId, BookingState state, int from, int size) throws NotFoundException;
 
-    List<Booking> findOwnerBookingsByState(long userId, BookingState state, int from, int size) throws NotFoundException;
+    List<BookingDto> findOwnerBookingsByState(long userId, BookingState state, int from, int size) throws NotFoundException;
+
+    List<BookingDto> findUserBookingsPageByState(long userId, BookingState state, BookingCursor cursor, int size) throws NotFoundException;
+
+    List<BookingDto> findOwnerBookingsPageByState(long userId, BookingState state, BookingCursor cursor, int size) throws NotFoundException;
 }
@@ -4,21 +4,25 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.archive.BookingArchive;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoCreate;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.ArchivedBookingRepository;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.*;
-import ru.practicum.shareit.item.model.Item;
-import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.lock.ItemLocks;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.function.Supplier;
+import java.util.concurrent.locks.Lock;
 
 import static ru.practicum.shareit.booking.model.BookingStatus.*;
 
@@ -28,64 +32,59 @@ public class BookingServiceImpl implements BookingService {
 
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
-    private final ItemRepository itemRepository;
+    private final ItemLocks itemLocks;
+    private final ArchivedBookingRepository archivedBookingRepository;
+    private final BookingArchive bookingArchive;
+    private final BookingWriter bookingWriter;
 
     @Override
     public Booking createBooking(BookingDtoCreate bookingDto, long userId) throws NotFoundException, UnavailableException, AccessException {
-        Optional<User> booker = userRepository.findById(userId);
-        if (booker.isEmpty()) {
-            throw new NotFoundException("Пользователь " + userId + " не найден");
-        }
-        Optional<Item> item = itemRepository.findById(bookingDto.getItemId());
-        if (item.isEmpty()) {
-            throw new NotFoundException("Предмет " + bookingDto.getItemId() + " не найден");
-        }
-        if (item.get().getOwner() == userId) {
-            throw new AccessException("Вы не можете забронировать свой предмет");
+        Lock lock = itemLocks.lock(bookingDto.getItemId());
+        try {
+            return bookingWriter.createBooking(bookingDto, userId);
+        } finally {
+            lock.unlock();
         }
-        if (isUnavailable(item.get())) {
-            throw new UnavailableException("Предмет недоступен для бронирования");
-        }
-        Booking booking = new Booking(
-                0L,
-                bookingDto.getStart(),
-                bookingDto.getEnd(),
-                item.get(),
-                booker.get(),
-                WAITING
-        );
-        return bookingRepository.save(booking);
     }
 
     @Override
-    public Booking approveBooking(long bookingId, boolean approved, long userId) throws NotFoundException, NotOwnerException, AlreadyApprovedException {
-        Optional<Booking> booking = bookingRepository.findById(bookingId);
-        if (booking.isEmpty()) {
-            throw new NotFoundException("Запрос на бронирование " + bookingId + " не найден");
+    public Booking approveBooking(long bookingId, boolean approved, long userId) throws NotFoundException, NotOwnerException, AlreadyApprovedException, UnavailableException {
+        if (!approved) {
+            return bookingWriter.approveBooking(bookingId, false, userId);
         }
-        if (booking.get().getItem().getOwner() != userId) {
-            throw new NotOwnerException(
-                    "Пользователь " + userId + " не является владельцем предмета " + booking.get().getItem().getId()
-            );
+        Optional<Long> itemId = bookingRepository.findItemIdById(bookingId);
+        if (itemId.isEmpty()) {
+            throw new NotFoundException("Запрос на бронирование " + bookingId + " не найден");
         }
-        if (booking.get().getStatus().equals(APPROVED)) {
-            throw new AlreadyApprovedException("Запрос уже подтверждён");
+        Lock lock = itemLocks.lock(itemId.get());
+        try {
+            return bookingWriter.approveBooking(bookingId, true, userId);
+        } finally {
+            lock.unlock();
         }
-        return patch(booking.get(), approved);
     }
 
     @Override
-    public Booking findBooking(long bookingId, long userId) throws Throwable {
+    @Transactional(readOnly = true)
+    public BookingDto findBooking(long bookingId, long userId) throws NotFoundException, AccessException {
         Optional<User> user = userRepository.findById(userId);
         if (user.isEmpty()) {
             throw new NotFoundException("Пользователь " + userId + " не найден");
         }
-        Optional<Booking> booking = bookingRepository.findById(bookingId);
-        return booking.orElseThrow((Supplier<Throwable>) () -> new NotFoundException("Запрос на бронирование " + bookingId + " не найден"));
+        Optional<BookingDto> booking = bookingRepository.findDtoByIdForUser(bookingId, userId)
+                .or(() -> archivedBookingRepository.findDtoByIdForUser(bookingId, userId));
+        if (booking.isPresent()) {
+            return booking.get();
+        }
+        if (bookingRepository.existsById(bookingId) || archivedBookingRepository.existsById(bookingId)) {
+            throw new AccessException("Ошибка доступа");
+        }
+        throw new NotFoundException("Запрос на бронирование " + bookingId + " не найден");
     }
 
     @Override
-    public List<Booking> findUserBookingsByState(long userId, BookingState state, int from, int size) throws NotFoundException {
+    @Transactional(readOnly = true)
+    public List<BookingDto> findUserBookingsByState(long userId, BookingState state, int from, int size) throws NotFoundException {
         Optional<User> user = userRepository.findById(userId);
         if (user.isEmpty()) {
             throw new NotFoundException("Пользователь " + userId + " не найден");
@@ -95,20 +94,38 @@ public class BookingServiceImpl implements BookingService {
             case CURRENT:
                 return bookingRepository.findAllCurrentByBookerId(userId, LocalDateTime.now(), pageRequest);
             case PAST:
-                return bookingRepository.findAllByBookerIdAndEndBefore(userId, LocalDateTime.now(), pageRequest);
+                LocalDateTime now = LocalDateTime.now();
+                return bookingArchive.page(
+                        pageable -> bookingRepository.findAllByBookerIdAndEndBefore(userId, now, pageable),
+                        pageable -> archivedBookingRepository.findAllByBookerIdAndEndBefore(userId, now, pageable),
+                        from,
+                        size
+                );
             case FUTURE:
                 return bookingRepository.findAllByBookerIdAndStartAfter(userId, LocalDateTime.now(), pageRequest);
             case WAITING:
             case REJECTED:
-                return bookingRepository.findAllByBookerIdAndStatus(userId, BookingStatus.valueOf(String.valueOf(state)), pageRequest);
+                BookingStatus status = BookingStatus.valueOf(String.valueOf(state));
+                return bookingArchive.page(
+                        pageable -> bookingRepository.findAllByBookerIdAndStatus(userId, status, pageable),
+                        pageable -> archivedBookingRepository.findAllByBookerIdAndStatus(userId, status, pageable),
+                        from,
+                        size
+                );
             case ALL:
             default:
-                return bookingRepository.findAllByBookerId(userId, pageRequest);
+                return bookingArchive.page(
+                        pageable -> bookingRepository.findAllByBookerId(userId, pageable),
+                        pageable -> archivedBookingRepository.findAllByBookerId(userId, pageable),
+                        from,
+                        size
+                );
         }
     }
 
     @Override
-    public List<Booking> findOwnerBookingsByState(long userId, BookingState state, int from, int size) throws NotFoundException {
+    @Transactional(readOnly = true)
+    public List<BookingDto> findOwnerBookingsByState(long userId, BookingState state, int from, int size) throws NotFoundException {
         Optional<User> owner = userRepository.findById(userId);
         if (owner.isEmpty()) {
             throw new NotFoundException("Пользователь " + userId + " не найден");
@@ -118,28 +135,112 @@ public class BookingServiceImpl implements BookingService {
             case CURRENT:
                 return bookingRepository.findAllCurrentByItemOwner(userId, LocalDateTime.now(), pageRequest);
             case PAST:
-                return bookingRepository.findAllByItemOwnerAndEndBefore(userId, LocalDateTime.now(), pageRequest);
+                LocalDateTime now = LocalDateTime.now();
+                return bookingArchive.page(
+                        pageable -> bookingRepository.findAllByItemOwnerAndEndBefore(userId, now, pageable),
+                        pageable -> archivedBookingRepository.findAllByItemOwnerAndEndBefore(userId, now, pageable),
+                        from,
+                        size
+                );
             case FUTURE:
                 return bookingRepository.findAllByItemOwnerAndStartAfter(userId, LocalDateTime.now(), pageRequest);
             case WAITING:
             case REJECTED:
-                return bookingRepository.findAllByItemOwnerAndStatus(userId, BookingStatus.valueOf(String.valueOf(state)), pageRequest);
+                BookingStatus status = BookingStatus.valueOf(String.valueOf(state));
+                return bookingArchive.page(
+                        pageable -> bookingRepository.findAllByItemOwnerAndStatus(userId, status, pageable),
+                        pageable -> archivedBookingRepository.findAllByItemOwnerAndStatus(userId, status, pageable),
+                        from,
+                        size
+                );
             case ALL:
             default:
-                return bookingRepository.findAllByItemOwner(userId, pageRequest);
+                return bookingArchive.page(
+                        pageable -> bookingRepository.findAllByItemOwner(userId, pageable),
+                        pageable -> archivedBookingRepository.findAllByItemOwner(userId, pageable),
+                        from,
+                        size
+                );
         }
     }
 
-    private Booking patch(Booking booking, boolean approved) {
-        if (approved) {
-            booking.setStatus(APPROVED);
-        } else {
-            booking.setStatus(REJECTED);
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookingDto> findUserBookingsPageByState(long userId, BookingState state, BookingCursor cursor, int size) throws NotFoundException {
+        Optional<User> user = userRepository.findById(userId);
+        if (user.isEmpty()) {
+            throw new NotFoundException("Пользователь " + userId + " не найден");
+        }
+        PageRequest pageRequest = PageRequest.of(0, size);
+        LocalDateTime start = cursor.getStart();
+        long id = cursor.getId();
+        switch (state) {
+            case CURRENT:
+                return bookingRepository.findCurrentPageByBookerId(userId, LocalDateTime.now(), start, id, pageRequest);
+            case PAST:
+                LocalDateTime now = LocalDateTime.now();
+                return bookingArchive.page(
+                        bookingRepository.findPastPageByBookerId(userId, now, start, id, pageRequest),
+                        () -> archivedBookingRepository.findPastPageByBookerId(userId, now, start, id, pageRequest),
+                        size
+                );
+            case FUTURE:
+                return bookingRepository.findFuturePageByBookerId(userId, LocalDateTime.now(), start, id, pageRequest);
+            case WAITING:
+            case REJECTED:
+                BookingStatus status = BookingStatus.valueOf(String.valueOf(state));
+                return bookingArchive.page(
+                        bookingRepository.findPageByBookerIdAndStatus(userId, status, start, id, pageRequest),
+                        () -> archivedBookingRepository.findPageByBookerIdAndStatus(userId, status, start, id, pageRequest),
+                        size
+                );
+            case ALL:
+            default:
+                return bookingArchive.page(
+                        bookingRepository.findPageByBookerId(userId, start, id, pageRequest),
+                        () -> archivedBookingRepository.findPageByBookerId(userId, start, id, pageRequest),
+                        size
+                );
         }
-        return bookingRepository.save(booking);
     }
 
-    private boolean isUnavailable(Item item) {
-        return !item.getAvailable();
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookingDto> findOwnerBookingsPageByState(long userId, BookingState state, BookingCursor cursor, int size) throws NotFoundException {
+        Optional<User> owner = userRepository.findById(userId);
+        if (owner.isEmpty()) {
+            throw new NotFoundException("Пользователь " + userId + " не найден");
+        }
+        PageRequest pageRequest = PageRequest.of(0, size);
+        LocalDateTime start = cursor.getStart();
+        long id = cursor.getId();
+        switch (state) {
+            case CURRENT:
+                return bookingRepository.findCurrentPageByItemOwner(userId, LocalDateTime.now(), start, id, pageRequest);
+            case PAST:
+                LocalDateTime now = LocalDateTime.now();
+                return bookingArchive.page(
+                        bookingRepository.findPastPageByItemOwner(userId, now, start, id, pageRequest),
+                        () -> archivedBookingRepository.findPastPageByItemOwner(userId, now, start, id, pageRequest),
+                        size
+                );
+            case FUTURE:
+                return bookingRepository.findFuturePageByItemOwner(userId, LocalDateTime.now(), start, id, pageRequest);
+            case WAITING:
+            case REJECTED:
+                BookingStatus status = BookingStatus.valueOf(String.valueOf(state));
+                return bookingArchive.page(
+                        bookingRepository.findPageByItemOwnerAndStatus(userId, status, start, id, pageRequest),
+                        () -> archivedBookingRepository.findPageByItemOwnerAndStatus(userId, status, start, id, pageRequest),
+                        size
+                );
+            case ALL:
+            default:
+                return bookingArchive.page(
+                        bookingRepository.findPageByItemOwner(userId, start, id, pageRequest),
+                        () -> archivedBookingRepository.findPageByItemOwner(userId, start, id, pageRequest),
+                        size
+                );
+        }
     }
 }
@@ -0,0 +1,119 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingDtoCreate;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.*;
+import ru.practicum.shareit.item.eligibility.CommentEligibility;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static ru.practicum.shareit.booking.model.BookingStatus.*;
+
+@Component
+@RequiredArgsConstructor
+public class BookingWriter {
+
+    private final BookingRepository bookingRepository;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final CommentEligibility commentEligibility;
+
+    @Transactional
+    public Booking createBooking(BookingDtoCreate bookingDto, long userId) throws NotFoundException, UnavailableException, AccessException {
+        Optional<User> booker = userRepository.findById(userId);
+        if (booker.isEmpty()) {
+            throw new NotFoundException("Пользователь " + userId + " не найден");
+        }
+        Optional<Item> item = itemRepository.findByIdForUpdate(bookingDto.getItemId());
+        if (item.isEmpty()) {
+            throw new NotFoundException("Предмет " + bookingDto.getItemId() + " не найден");
+        }
+        if (item.get().getOwner() == userId) {
+            throw new AccessException("Вы не можете забронировать свой предмет");
+        }
+        if (isUnavailable(item.get())) {
+            throw new UnavailableException("Предмет недоступен для бронирования");
+        }
+        if (isOverlapping(item.get(), bookingDto.getStart(), bookingDto.getEnd())) {
+            throw new UnavailableException("Предмет уже забронирован на это время");
+        }
+        Booking booking = new Booking(
+                0L,
+                bookingDto.getStart(),
+                bookingDto.getEnd(),
+                item.get(),
+                booker.get(),
+                WAITING
+        );
+        return bookingRepository.save(booking);
+    }
+
+    @Transactional
+    public Booking approveBooking(long bookingId, boolean approved, long userId) throws NotFoundException, NotOwnerException, AlreadyApprovedException, UnavailableException {
+        Optional<Booking> booking = bookingRepository.findByIdForUpdate(bookingId);
+        if (booking.isEmpty()) {
+            throw new NotFoundException("Запрос на бронирование " + bookingId + " не найден");
+        }
+        if (booking.get().getItem().getOwner() != userId) {
+            throw new NotOwnerException(
+                    "Пользователь " + userId + " не является владельцем предмета " + booking.get().getItem().getId()
+            );
+        }
+        if (booking.get().getStatus().equals(APPROVED)) {
+            throw new AlreadyApprovedException("Запрос уже подтверждён");
+        }
+        if (approved) {
+            if (booking.get().getStatus().equals(EXPIRED)) {
+                throw new UnavailableException("Срок подтверждения запроса истёк");
+            }
+            itemRepository.findByIdForUpdate(booking.get().getItem().getId());
+            if (isOverlappingApproved(booking.get())) {
+                throw new UnavailableException("Предмет уже забронирован на это время");
+            }
+        }
+        return patch(booking.get(), approved);
+    }
+
+    private Booking patch(Booking booking, boolean approved) {
+        if (approved) {
+            booking.setStatus(APPROVED);
+        } else {
+            booking.setStatus(REJECTED);
+        }
+        Booking savedBooking = bookingRepository.save(booking);
+        commentEligibility.recordApproved(savedBooking);
+        return savedBooking;
+    }
+
+    private boolean isUnavailable(Item item) {
+        return !item.getAvailable();
+    }
+
+    private boolean isOverlapping(Item item, LocalDateTime start, LocalDateTime end) {
+        return bookingRepository.existsByItemIdAndStatusInAndStartBeforeAndEndAfter(
+                item.getId(),
+                List.of(APPROVED, WAITING),
+                end,
+                start
+        );
+    }
+
+    private boolean isOverlappingApproved(Booking booking) {
+        return bookingRepository.existsByItemIdAndStatusInAndStartBeforeAndEndAfter(
+                booking.getItem().getId(),
+                List.of(APPROVED),
+                booking.getEnd(),
+                booking.getStart()
+        );
+    }
+}
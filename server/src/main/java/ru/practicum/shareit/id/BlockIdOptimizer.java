@@ -0,0 +1,81 @@
+package ru.practicum.shareit.id;
+
+import org.hibernate.id.IdentifierGeneratorHelper;
+import org.hibernate.id.IntegralDataTypeHolder;
+import org.hibernate.id.enhanced.AccessCallback;
+import org.hibernate.id.enhanced.Optimizer;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class BlockIdOptimizer implements Optimizer {
+
+    public static final String NAME = "ru.practicum.shareit.id.BlockIdOptimizer";
+
+    private final Class<?> returnClass;
+    private final int incrementSize;
+
+    private volatile Block block = new Block(0, 0);
+    private volatile IntegralDataTypeHolder lastSourceValue;
+
+    public BlockIdOptimizer(Class<?> returnClass, int incrementSize) {
+        if (incrementSize < 1) {
+            throw new IllegalArgumentException("Размер блока идентификаторов должен быть положительным");
+        }
+        this.returnClass = returnClass;
+        this.incrementSize = incrementSize;
+    }
+
+    @Override
+    public Serializable generate(AccessCallback callback) {
+        while (true) {
+            Block current = block;
+            long id = current.next.getAndIncrement();
+            if (id < current.limit) {
+                return toIdentifier(id);
+            }
+            reserveBlock(current, callback);
+        }
+    }
+
+    @Override
+    public IntegralDataTypeHolder getLastSourceValue() {
+        return lastSourceValue;
+    }
+
+    @Override
+    public int getIncrementSize() {
+        return incrementSize;
+    }
+
+    @Override
+    public boolean applyIncrementSizeToSourceValues() {
+        return true;
+    }
+
+    private synchronized void reserveBlock(Block exhausted, AccessCallback callback) {
+        if (block != exhausted) {
+            return;
+        }
+        IntegralDataTypeHolder sourceValue = callback.getNextValue();
+        long low = sourceValue.makeValue().longValue();
+        lastSourceValue = sourceValue;
+        block = new Block(low, low + incrementSize);
+    }
+
+    private Serializable toIdentifier(long id) {
+        return IdentifierGeneratorHelper.getIntegralDataTypeHolder(returnClass)
+                .initialize(id)
+                .makeValue();
+    }
+
+    private static class Block {
+        private final AtomicLong next;
+        private final long limit;
+
+        Block(long low, long limit) {
+            this.next = new AtomicLong(low);
+            this.limit = limit;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.item.dto;
+
+import java.time.LocalDateTime;
+
+public interface ItemComment {
+    long getId();
+
+    String getText();
+
+    String getAuthorName();
+
+    LocalDateTime getCreated();
+
+    long getItemId();
+}
@@ -3,9 +3,7 @@ package ru.practicum.shareit.item.dto;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import ru.practicum.shareit.booking.model.Booking;
-import ru.practicum.shareit.item.model.Comment;
-import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.booking.dto.BookingDtoItem;
 
 import java.util.List;
 
@@ -13,7 +11,8 @@ import java.util.List;
 @AllArgsConstructor
 @NoArgsConstructor
 public class ItemDtoService {
-    private Item item;
-    private List<Booking> bookings;
-    private List<Comment> comments;
+    private ItemDto item;
+    private BookingDtoItem lastBooking;
+    private BookingDtoItem nextBooking;
+    private List<CommentDto> comments;
 }
@@ -0,0 +1,178 @@
+package ru.practicum.shareit.item.eligibility;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.dto.BookerItem;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.ArchivedBookingRepository;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+import static ru.practicum.shareit.booking.model.BookingStatus.APPROVED;
+
+@Slf4j
+@Component
+public class CommentEligibility implements MeterBinder {
+
+    private static final String METRIC_NAME = "shareit.comment.eligibility";
+    private static final int ENTRY_OVERHEAD_BYTES = 64;
+
+    private final BookingRepository bookingRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
+    private final Cache<Long, RoaringBitmap> rentedItems;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public CommentEligibility(BookingRepository bookingRepository,
+                              ArchivedBookingRepository archivedBookingRepository,
+                              @Value("${shareit.comment-eligibility.max-bytes:33554432}") long maxBytes) {
+        this.bookingRepository = bookingRepository;
+        this.archivedBookingRepository = archivedBookingRepository;
+        this.rentedItems = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Long bookerId, RoaringBitmap items) -> ENTRY_OVERHEAD_BYTES + items.getSizeInBytes())
+                .build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder(METRIC_NAME + ".lookups", hits, LongAdder::sum)
+                .description("Comment eligibility checks answered from the bitmap or from the database")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder(METRIC_NAME + ".lookups", misses, LongAdder::sum)
+                .description("Comment eligibility checks answered from the bitmap or from the database")
+                .tag("result", "miss")
+                .register(registry);
+        Gauge.builder(METRIC_NAME + ".bookers", rentedItems, Cache::estimatedSize)
+                .description("Bookers with a rented items bitmap")
+                .register(registry);
+        Gauge.builder(METRIC_NAME + ".size", rentedItems, this::weightedSize)
+                .description("Estimated memory held by rented items bitmaps")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    public boolean isEligible(long bookerId, long itemId) {
+        if (isCached(bookerId, itemId)) {
+            hits.increment();
+            return true;
+        }
+        misses.increment();
+        LocalDateTime now = LocalDateTime.now();
+        boolean eligible = bookingRepository.existsByBookerIdAndItemIdAndStatusAndStartBefore(bookerId, itemId, APPROVED, now)
+                || archivedBookingRepository.existsByBookerIdAndItemIdAndStatusAndStartBefore(bookerId, itemId, APPROVED, now);
+        if (eligible) {
+            add(bookerId, itemId);
+        }
+        return eligible;
+    }
+
+    public void recordApproved(Booking booking) {
+        if (booking.getStatus() != APPROVED || booking.getStart().isAfter(LocalDateTime.now())) {
+            return;
+        }
+        long bookerId = booking.getBooker().getId();
+        long itemId = booking.getItem().getId();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            add(bookerId, itemId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                add(bookerId, itemId);
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        rentedItems.invalidateAll();
+        LocalDateTime now = LocalDateTime.now();
+        try (Stream<BookerItem> rentals = bookingRepository.findBookerItemsByStatusAndStartBefore(APPROVED, now)) {
+            load(rentals.iterator());
+        }
+        try (Stream<BookerItem> rentals = archivedBookingRepository.findBookerItemsByStatusAndStartBefore(APPROVED, now)) {
+            load(rentals.iterator());
+        }
+        log.info("Comment eligibility rebuilt for {} bookers, {} bytes", rentedItems.estimatedSize(), weightedSize(rentedItems));
+    }
+
+    boolean isCached(long bookerId, long itemId) {
+        RoaringBitmap items = rentedItems.getIfPresent(bookerId);
+        return items != null && isIndexable(itemId) && items.contains((int) itemId);
+    }
+
+    private void add(long bookerId, long itemId) {
+        if (!isIndexable(itemId)) {
+            return;
+        }
+        rentedItems.asMap().compute(bookerId, (id, items) -> {
+            if (items != null && items.contains((int) itemId)) {
+                return items;
+            }
+            RoaringBitmap updated = items == null ? new RoaringBitmap() : items.clone();
+            updated.add((int) itemId);
+            updated.runOptimize();
+            return updated;
+        });
+    }
+
+    private void load(Iterator<BookerItem> rentals) {
+        long bookerId = 0;
+        RoaringBitmap items = null;
+        while (rentals.hasNext()) {
+            BookerItem rental = rentals.next();
+            if (items != null && rental.getBookerId() != bookerId) {
+                store(bookerId, items);
+                items = null;
+            }
+            if (isIndexable(rental.getItemId())) {
+                bookerId = rental.getBookerId();
+                items = items == null ? new RoaringBitmap() : items;
+                items.add((int) rental.getItemId());
+            }
+        }
+        if (items != null) {
+            store(bookerId, items);
+        }
+    }
+
+    private void store(long bookerId, RoaringBitmap items) {
+        items.runOptimize();
+        rentedItems.asMap().merge(bookerId, items, (cached, loaded) -> {
+            RoaringBitmap merged = RoaringBitmap.or(cached, loaded);
+            merged.runOptimize();
+            return merged;
+        });
+    }
+
+    private long weightedSize(Cache<Long, RoaringBitmap> cache) {
+        return cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+    }
+
+    private static boolean isIndexable(long itemId) {
+        return itemId >= 0 && itemId <= Integer.MAX_VALUE;
+    }
+}
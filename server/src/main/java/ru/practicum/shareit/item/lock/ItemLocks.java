@@ -0,0 +1,27 @@
+package ru.practicum.shareit.item.lock;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+public class ItemLocks {
+
+    private static final int STRIPES = 64;
+
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+
+    public ItemLocks() {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    // taken before the transaction begins, so threads waiting for a stripe do not hold pool connections
+    public Lock lock(long itemId) {
+        ReentrantLock lock = locks[Math.floorMod(Long.hashCode(itemId), STRIPES)];
+        lock.lock();
+        return lock;
+    }
+}
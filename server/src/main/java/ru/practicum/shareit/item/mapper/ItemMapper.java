@@ -2,20 +2,11 @@ package ru.practicum.shareit.item.mapper;
 
 import org.springframework.stereotype.Component;
 import ru.practicum.shareit.booking.dto.BookingDtoItem;
-import ru.practicum.shareit.booking.model.Booking;
-import ru.practicum.shareit.item.dto.CommentDto;
-import ru.practicum.shareit.item.dto.ItemDto;
-import ru.practicum.shareit.item.dto.ItemDtoService;
-import ru.practicum.shareit.item.dto.ItemDtoUserView;
+import ru.practicum.shareit.booking.dto.ItemBooking;
+import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 
-import java.time.LocalDateTime;
-import java.time.chrono.ChronoLocalDateTime;
-import java.util.List;
-import java.util.Optional;
-import java.util.stream.Collectors;
-
 @Component
 public class ItemMapper {
     public ItemDto toItemDto(Item item) {
@@ -36,34 +27,15 @@ public class ItemMapper {
     }
 
     public ItemDtoUserView toItemDtoUserView(ItemDtoService itemDtoService) {
-        Item item = itemDtoService.getItem();
-        List<Booking> bookings = itemDtoService.getBookings();
-        List<Comment> comments = itemDtoService.getComments();
-        Optional<Booking> lastBooking = getLastBooking(bookings, item);
-        Optional<Booking> nextBooking = getNextBooking(bookings, item);
-        BookingDtoItem lastBookingDto = null;
-        BookingDtoItem nextBookingDto = null;
-        if (lastBooking.isPresent()) {
-            lastBookingDto = new BookingDtoItem();
-            lastBookingDto.setId(lastBooking.get().getId());
-            lastBookingDto.setBookerId(lastBooking.get().getBooker().getId());
-        }
-        if (nextBooking.isPresent()) {
-            nextBookingDto = new BookingDtoItem();
-            nextBookingDto.setId(nextBooking.get().getId());
-            nextBookingDto.setBookerId(nextBooking.get().getBooker().getId());
-        }
-        List<CommentDto> commentsDto = comments.stream()
-                .map(this::toCommentDto)
-                .collect(Collectors.toList());
+        ItemDto item = itemDtoService.getItem();
         return new ItemDtoUserView(
                 item.getId(),
                 item.getName(),
                 item.getDescription(),
                 item.getAvailable(),
-                lastBookingDto,
-                nextBookingDto,
-                commentsDto
+                itemDtoService.getLastBooking(),
+                itemDtoService.getNextBooking(),
+                itemDtoService.getComments()
         );
     }
 
@@ -77,13 +49,19 @@ public class ItemMapper {
         return commentDto;
     }
 
-    private Optional<Booking> getLastBooking(List<Booking> bookings, Item item) {
-        return bookings.stream()
-                .filter(b -> b.getEnd().isBefore(ChronoLocalDateTime.from(LocalDateTime.now()))).findFirst();
+    public CommentDto toCommentDto(ItemComment comment) {
+        return new CommentDto(
+                comment.getId(),
+                comment.getText(),
+                comment.getAuthorName(),
+                comment.getCreated()
+        );
     }
 
-    private Optional<Booking> getNextBooking(List<Booking> bookings, Item item) {
-        return bookings.stream()
-                .filter(b -> b.getEnd().isAfter(ChronoLocalDateTime.from(LocalDateTime.now()))).findFirst();
+    public BookingDtoItem toBookingDtoItem(ItemBooking booking) {
+        if (booking == null) {
+            return null;
+        }
+        return new BookingDtoItem(booking.getId(), booking.getBookerId());
     }
 }
@@ -22,11 +22,13 @@ public class Comment {
     @Column
     private String text;
 
-    @ManyToOne
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "item_id", referencedColumnName = "id")
     private Item item;
 
-    @ManyToOne
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "author_id", referencedColumnName = "id")
     private User author;
 
@@ -38,11 +40,11 @@ public class Comment {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Comment comment = (Comment) o;
-        return Objects.equals(id, comment.id) && Objects.equals(text, comment.text) && Objects.equals(item, comment.item) && Objects.equals(author, comment.author) && Objects.equals(created, comment.created);
+        return Objects.equals(id, comment.id) && Objects.equals(text, comment.text) && Objects.equals(created, comment.created);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, text, item, author, created);
+        return Objects.hash(id, text, created);
     }
 }
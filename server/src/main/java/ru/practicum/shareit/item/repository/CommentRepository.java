@@ -2,14 +2,21 @@ package ru.practicum.shareit.item.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.item.dto.ItemComment;
 import ru.practicum.shareit.item.model.Comment;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
-    @Query("select c from Comment c " +
-            "where c.item.id = :itemId"
-    )
-    List<Comment> findAllByItemId(long itemId);
+    String ITEM_COMMENT = "select c.id as id, c.text as text, a.name as authorName, c.created as created, " +
+            "c.item.id as itemId " +
+            "from Comment c join c.author a ";
+
+    @Query(ITEM_COMMENT + "where c.item.id = :itemId")
+    List<ItemComment> findAllByItemId(long itemId);
+
+    @Query(ITEM_COMMENT + "where c.item.id in :itemIds")
+    List<ItemComment> findAllByItemIdIn(Collection<Long> itemIds);
 }
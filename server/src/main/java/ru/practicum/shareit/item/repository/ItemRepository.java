@@ -2,20 +2,77 @@ package ru.practicum.shareit.item.repository;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
 
+import javax.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
-    List<Item> findByOwner(long userId, Pageable pageable);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Item i where i.id = :itemId")
+    Optional<Item> findByIdForUpdate(long itemId);
 
     @Query("select i from Item i " +
-            "where upper(i.name) like upper(concat('%', ?1, '%')) " +
-            "or upper(i.description) like upper(concat('%', ?1, '%'))" +
+            "where (upper(i.name) like upper(concat('%', ?1, '%')) " +
+            "or upper(i.description) like upper(concat('%', ?1, '%'))) " +
             "and i.available = true")
     List<Item> search(String text, Pageable pageable);
 
-    List<Item> findAllByRequestId(long requestId);
+    @Query("select i from Item i " +
+            "where (upper(i.name) like upper(concat('%', :text, '%')) " +
+            "or upper(i.description) like upper(concat('%', :text, '%'))) " +
+            "and i.available = true " +
+            "and not exists (select b.id from Booking b where b.item = i " +
+            "and b.status = ru.practicum.shareit.booking.model.BookingStatus.APPROVED " +
+            "and b.start < :end and b.end > :start)")
+    List<Item> searchAvailable(String text, LocalDateTime start, LocalDateTime end, Pageable pageable);
+
+    @Query("select i.id from Item i " +
+            "where i.id in :itemIds " +
+            "and exists (select b.id from Booking b where b.item = i " +
+            "and b.status = ru.practicum.shareit.booking.model.BookingStatus.APPROVED " +
+            "and b.start < :end and b.end > :start)")
+    List<Long> findIdsBookedBetween(Collection<Long> itemIds, LocalDateTime start, LocalDateTime end);
+
+    @Query(value = "select * from items i " +
+            "where i.available = true " +
+            "and to_tsvector('simple', coalesce(i.name, '') || ' ' || coalesce(i.description, '')) " +
+            "@@ to_tsquery('simple', :query) " +
+            "order by ts_rank(" +
+            "to_tsvector('simple', coalesce(i.name, '') || ' ' || coalesce(i.description, '')), " +
+            "to_tsquery('simple', :query)) desc, i.id",
+            nativeQuery = true)
+    List<Item> fullTextSearch(String query, Pageable pageable);
+
+    @Query(value = "select * from items i " +
+            "where i.available = true " +
+            "and to_tsvector('simple', coalesce(i.name, '') || ' ' || coalesce(i.description, '')) " +
+            "@@ to_tsquery('simple', :query) " +
+            "and not exists (select 1 from bookings b where b.item_id = i.id and b.status = 'APPROVED' " +
+            "and b.start_date_time < :end and b.end_date_time > :start) " +
+            "order by ts_rank(" +
+            "to_tsvector('simple', coalesce(i.name, '') || ' ' || coalesce(i.description, '')), " +
+            "to_tsquery('simple', :query)) desc, i.id",
+            nativeQuery = true)
+    List<Item> fullTextSearchAvailable(String query, LocalDateTime start, LocalDateTime end, Pageable pageable);
+
+    String ITEM_DTO = "select new ru.practicum.shareit.item.dto.ItemDto(" +
+            "i.id, i.name, i.description, i.available, i.request.id) " +
+            "from Item i ";
+
+    @Query(ITEM_DTO + "where i.owner = :userId")
+    List<ItemDto> findItemDtosByOwner(long userId, Pageable pageable);
+
+    @Query(ITEM_DTO + "where i.request.id = :requestId")
+    List<ItemDto> findItemDtosByRequestId(long requestId);
+
+    @Query(ITEM_DTO + "where i.request.id in :requestIds")
+    List<ItemDto> findItemDtosByRequestIdIn(Collection<Long> requestIds);
 }
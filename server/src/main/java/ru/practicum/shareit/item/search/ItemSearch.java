@@ -0,0 +1,19 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ItemSearch {
+
+    List<Item> search(String text, int from, int size);
+
+    List<Item> searchAvailable(String text, LocalDateTime start, LocalDateTime end, int from, int size);
+
+    default void index(Item item) {
+    }
+
+    default void remove(long itemId) {
+    }
+}
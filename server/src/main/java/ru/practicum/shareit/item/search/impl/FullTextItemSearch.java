@@ -0,0 +1,48 @@
+package ru.practicum.shareit.item.search.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearch;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "fulltext")
+@RequiredArgsConstructor
+public class FullTextItemSearch implements ItemSearch {
+
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<Item> search(String text, int from, int size) {
+        String query = toTsQuery(text);
+        if (query.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return itemRepository.fullTextSearch(query, PageRequest.of(from / size, size));
+    }
+
+    @Override
+    public List<Item> searchAvailable(String text, LocalDateTime start, LocalDateTime end, int from, int size) {
+        String query = toTsQuery(text);
+        if (query.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return itemRepository.fullTextSearchAvailable(query, start, end, PageRequest.of(from / size, size));
+    }
+
+    private String toTsQuery(String text) {
+        return Arrays.stream(text.toLowerCase().split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .map(term -> term + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+}
@@ -0,0 +1,195 @@
+package ru.practicum.shareit.item.search.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearch;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "memory")
+@RequiredArgsConstructor
+public class InMemoryItemSearch implements ItemSearch {
+
+    private static final int AVAILABILITY_BATCH_SIZE = 500;
+
+    private final ItemRepository itemRepository;
+
+    private final NavigableMap<String, PostingList> postings = new TreeMap<>();
+    private final Map<Long, Item> items = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Item> allItems = itemRepository.findAll();
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            items.clear();
+            allItems.forEach(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Search index rebuilt: {} items, {} terms", items.size(), postings.size());
+    }
+
+    @Override
+    public List<Item> search(String text, int from, int size) {
+        return Arrays.stream(find(text))
+                .skip((long) (from / size) * size)
+                .limit(size)
+                .mapToObj(this::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Item> searchAvailable(String text, LocalDateTime start, LocalDateTime end, int from, int size) {
+        long[] found = find(text);
+        long skip = (long) (from / size) * size;
+        List<Item> result = new ArrayList<>(size);
+        for (int batchStart = 0; batchStart < found.length && result.size() < size; batchStart += AVAILABILITY_BATCH_SIZE) {
+            List<Long> batch = Arrays.stream(found, batchStart, Math.min(batchStart + AVAILABILITY_BATCH_SIZE, found.length))
+                    .boxed()
+                    .collect(Collectors.toList());
+            Set<Long> bookedIds = new HashSet<>(itemRepository.findIdsBookedBetween(batch, start, end));
+            for (Long itemId : batch) {
+                if (bookedIds.contains(itemId)) {
+                    continue;
+                }
+                if (skip > 0) {
+                    skip--;
+                    continue;
+                }
+                Item item = get(itemId);
+                if (item != null) {
+                    result.add(item);
+                }
+                if (result.size() == size) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void index(Item item) {
+        lock.writeLock().lock();
+        try {
+            delete(item.getId());
+            add(item);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(long itemId) {
+        lock.writeLock().lock();
+        try {
+            delete(itemId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void add(Item item) {
+        if (!Boolean.TRUE.equals(item.getAvailable())) {
+            return;
+        }
+        Item indexedItem = new Item(
+                item.getId(),
+                item.getName(),
+                item.getDescription(),
+                item.getAvailable(),
+                item.getOwner(),
+                item.getRequest()
+        );
+        items.put(indexedItem.getId(), indexedItem);
+        for (String term : itemTerms(indexedItem)) {
+            postings.computeIfAbsent(term, t -> new PostingList()).add(indexedItem.getId());
+        }
+    }
+
+    private void delete(long itemId) {
+        Item indexedItem = items.remove(itemId);
+        if (indexedItem == null) {
+            return;
+        }
+        for (String term : itemTerms(indexedItem)) {
+            PostingList termIds = postings.get(term);
+            termIds.remove(itemId);
+            if (termIds.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    private long[] find(String text) {
+        List<String> terms = tokenize(text);
+        if (terms.isEmpty()) {
+            return new long[0];
+        }
+        lock.readLock().lock();
+        try {
+            long[] found = null;
+            for (String term : terms) {
+                long[] termIds = findByPrefix(term);
+                found = found == null ? termIds : PostingList.intersect(found, termIds);
+                if (found.length == 0) {
+                    break;
+                }
+            }
+            return found;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Item get(long itemId) {
+        lock.readLock().lock();
+        try {
+            return items.get(itemId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long[] findByPrefix(String prefix) {
+        long[] found = new long[0];
+        for (PostingList termIds : postings.subMap(prefix, true, prefix + Character.MAX_VALUE, true).values()) {
+            found = PostingList.union(found, termIds.toArray());
+        }
+        return found;
+    }
+
+    private Set<String> itemTerms(Item item) {
+        Set<String> terms = new HashSet<>();
+        if (item.getName() != null) {
+            terms.addAll(tokenize(item.getName()));
+        }
+        if (item.getDescription() != null) {
+            terms.addAll(tokenize(item.getDescription()));
+        }
+        return terms;
+    }
+
+    private List<String> tokenize(String text) {
+        return Arrays.stream(text.toLowerCase().split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .distinct()
+                .collect(Collectors.toList());
+    }
+}
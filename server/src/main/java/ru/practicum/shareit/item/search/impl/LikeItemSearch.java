@@ -0,0 +1,31 @@
+package ru.practicum.shareit.item.search.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearch;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "like", matchIfMissing = true)
+@RequiredArgsConstructor
+public class LikeItemSearch implements ItemSearch {
+
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<Item> search(String text, int from, int size) {
+        return itemRepository.search(text, PageRequest.of(from / size, size, Sort.by(Sort.Order.asc("id"))));
+    }
+
+    @Override
+    public List<Item> searchAvailable(String text, LocalDateTime start, LocalDateTime end, int from, int size) {
+        return itemRepository.searchAvailable(text, start, end, PageRequest.of(from / size, size, Sort.by(Sort.Order.asc("id"))));
+    }
+}
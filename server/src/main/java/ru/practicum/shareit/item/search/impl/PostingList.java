@@ -0,0 +1,82 @@
+package ru.practicum.shareit.item.search.impl;
+
+import java.util.Arrays;
+
+class PostingList {
+
+    private long[] ids = new long[4];
+    private int size;
+
+    void add(long id) {
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position >= 0) {
+            return;
+        }
+        position = -position - 1;
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        System.arraycopy(ids, position, ids, position + 1, size - position);
+        ids[position] = id;
+        size++;
+    }
+
+    void remove(long id) {
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position < 0) {
+            return;
+        }
+        System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+        size--;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    long[] toArray() {
+        return Arrays.copyOf(ids, size);
+    }
+
+    static long[] union(long[] first, long[] second) {
+        long[] result = new long[first.length + second.length];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < first.length && j < second.length) {
+            if (first[i] < second[j]) {
+                result[k++] = first[i++];
+            } else if (first[i] > second[j]) {
+                result[k++] = second[j++];
+            } else {
+                result[k++] = first[i++];
+                j++;
+            }
+        }
+        while (i < first.length) {
+            result[k++] = first[i++];
+        }
+        while (j < second.length) {
+            result[k++] = second[j++];
+        }
+        return Arrays.copyOf(result, k);
+    }
+
+    static long[] intersect(long[] first, long[] second) {
+        long[] result = new long[Math.min(first.length, second.length)];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < first.length && j < second.length) {
+            if (first[i] < second[j]) {
+                i++;
+            } else if (first[i] > second[j]) {
+                j++;
+            } else {
+                result[k++] = first[i++];
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, k);
+    }
+}
@@ -3,16 +3,18 @@ package ru.practicum.shareit.item.service;
 import ru.practicum.shareit.exception.AccessException;
 import ru.practicum.shareit.exception.NotBookedException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.ItemDtoCreated;
 import ru.practicum.shareit.item.dto.ItemDtoService;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
 
-    List<Item> searchItems(String text, int from, int size);
+    List<Item> searchItems(String text, LocalDateTime start, LocalDateTime end, int from, int size) throws ValidationException;
 
     List<ItemDtoService> getAllUserItems(long userId, int from, int size);
 
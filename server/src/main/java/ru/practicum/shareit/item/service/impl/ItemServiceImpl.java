@@ -5,17 +5,26 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
-import ru.practicum.shareit.booking.model.Booking;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.ItemBooking;
+import ru.practicum.shareit.booking.repository.ArchivedBookingRepository;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.AccessException;
 import ru.practicum.shareit.exception.NotBookedException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemComment;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoCreated;
 import ru.practicum.shareit.item.dto.ItemDtoService;
+import ru.practicum.shareit.item.eligibility.CommentEligibility;
+import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearch;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.requests.model.ItemRequest;
 import ru.practicum.shareit.requests.repository.ItemRequestRepository;
@@ -26,13 +35,17 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ItemServiceImpl implements ItemService {
 
+    private static final PageRequest FIRST = PageRequest.of(0, 1);
+
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
 
@@ -42,39 +55,98 @@ public class ItemServiceImpl implements ItemService {
 
     private final ItemRequestRepository requestRepository;
 
+    private final ItemSearch itemSearch;
+
+    private final CommentEligibility commentEligibility;
+
+    private final ArchivedBookingRepository archivedBookingRepository;
+
+    private final ItemMapper itemMapper;
+
     @Override
-    public List<Item> searchItems(String text, int from, int size) {
+    @Transactional(readOnly = true)
+    public List<Item> searchItems(String text, LocalDateTime start, LocalDateTime end, int from, int size) throws ValidationException {
+        if ((start == null) != (end == null)) {
+            throw new ValidationException("Для поиска свободных вещей нужно указать начало и конец периода");
+        }
+        if (start != null && !end.isAfter(start)) {
+            throw new ValidationException("Конец периода должен быть позже начала");
+        }
         if (text.isBlank()) {
             return Collections.emptyList();
         }
-        return itemRepository.search(text, PageRequest.of(from / size, size, Sort.by(Sort.Order.asc("id"))));
+        if (start == null) {
+            return itemSearch.search(text, from, size);
+        }
+        return itemSearch.searchAvailable(text, start, end, from, size);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ItemDtoService> getAllUserItems(long userId, int from, int size) {
-        List<Item> foundItems = itemRepository.findByOwner(userId, PageRequest.of(from / size, size, Sort.by(Sort.Order.asc("id"))));
+        List<ItemDto> foundItems = itemRepository.findItemDtosByOwner(userId, PageRequest.of(from / size, size, Sort.by(Sort.Order.asc("id"))));
+        if (foundItems.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Long> itemIds = foundItems.stream()
+                .map(ItemDto::getId)
+                .collect(Collectors.toList());
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, ItemBooking> lastBookings = groupByItemId(bookingRepository.findLastByItemIdIn(itemIds, now));
+        List<Long> itemIdsWithoutLastBooking = itemIds.stream()
+                .filter(itemId -> !lastBookings.containsKey(itemId))
+                .collect(Collectors.toList());
+        if (!itemIdsWithoutLastBooking.isEmpty()) {
+            archivedBookingRepository.findLastByItemIdIn(itemIdsWithoutLastBooking, now)
+                    .forEach(booking -> lastBookings.putIfAbsent(booking.getItemId(), booking));
+        }
+        Map<Long, ItemBooking> nextBookings = groupByItemId(bookingRepository.findNextByItemIdIn(itemIds, now));
+        Map<Long, List<CommentDto>> itemComments = commentRepository.findAllByItemIdIn(itemIds)
+                .stream()
+                .collect(Collectors.groupingBy(
+                        ItemComment::getItemId,
+                        Collectors.mapping(itemMapper::toCommentDto, Collectors.toList())
+                ));
         List<ItemDtoService> foundItemsList = new ArrayList<>();
-        for (Item item : foundItems) {
-            List<Booking> itemBookings = bookingRepository.findByItemIdOrderByStart(item.getId());
-            List<Comment> itemComments = commentRepository.findAllByItemId(item.getId());
-            foundItemsList.add(new ItemDtoService(item, itemBookings, itemComments));
+        for (ItemDto item : foundItems) {
+            foundItemsList.add(new ItemDtoService(
+                    item,
+                    itemMapper.toBookingDtoItem(lastBookings.get(item.getId())),
+                    itemMapper.toBookingDtoItem(nextBookings.get(item.getId())),
+                    itemComments.getOrDefault(item.getId(), List.of())
+            ));
         }
         return foundItemsList;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ItemDtoService getItem(long itemId, long userId) throws NotFoundException {
         Optional<Item> foundItem = itemRepository.findById(itemId);
         if (foundItem.isEmpty()) {
             throw new NotFoundException("Предмет " + itemId + " не найден");
         }
-        List<Booking> itemBookings = bookingRepository.findByItemIdOrderByStart(itemId);
-        if (foundItem.get().getOwner() != userId) {
-            itemBookings = List.of();
-        }
-        List<Comment> itemComments = commentRepository.findAllByItemId(itemId);
-
-        return new ItemDtoService(foundItem.get(), itemBookings, itemComments);
+        ItemBooking lastBooking = null;
+        ItemBooking nextBooking = null;
+        if (foundItem.get().getOwner() == userId) {
+            LocalDateTime now = LocalDateTime.now();
+            lastBooking = first(bookingRepository.findLastByItemId(itemId, now, FIRST))
+                    .or(() -> first(archivedBookingRepository.findLastByItemId(itemId, now, FIRST)))
+                    .orElse(null);
+            nextBooking = first(bookingRepository.findNextByItemId(itemId, now, FIRST))
+                    .orElse(null);
+        }
+        List<CommentDto> itemComments = commentRepository.findAllByItemId(itemId)
+                .stream()
+                .map(itemMapper::toCommentDto)
+                .collect(Collectors.toList());
+
+        return new ItemDtoService(
+                itemMapper.toItemDto(foundItem.get()),
+                itemMapper.toBookingDtoItem(lastBooking),
+                itemMapper.toBookingDtoItem(nextBooking),
+                itemComments
+        );
     }
 
     @Override
@@ -88,7 +160,7 @@ public class ItemServiceImpl implements ItemService {
         } else {
             linkedRequest = requestRepository.getReferenceById(item.getRequestId());
         }
-        return itemRepository.save(new Item(
+        Item savedItem = itemRepository.save(new Item(
                 null,
                 item.getName(),
                 item.getDescription(),
@@ -96,6 +168,8 @@ public class ItemServiceImpl implements ItemService {
                 userId,
                 linkedRequest
         ));
+        itemSearch.index(savedItem);
+        return savedItem;
     }
 
     @Override
@@ -104,7 +178,9 @@ public class ItemServiceImpl implements ItemService {
             throw new NotFoundException("Пользователь " + userId + " не найден");
         }
         checkAccess(itemId, userId);
-        return patchItem(item, itemRepository.getReferenceById(itemId));
+        Item updatedItem = patchItem(item, itemRepository.getReferenceById(itemId));
+        itemSearch.index(updatedItem);
+        return updatedItem;
     }
 
     @Override
@@ -114,6 +190,7 @@ public class ItemServiceImpl implements ItemService {
         }
         checkAccess(itemId, userId);
         itemRepository.deleteById(itemId);
+        itemSearch.remove(itemId);
     }
 
     @Override
@@ -162,15 +239,16 @@ public class ItemServiceImpl implements ItemService {
         return itemRepository.save(item);
     }
 
+    private Map<Long, ItemBooking> groupByItemId(List<ItemBooking> bookings) {
+        return bookings.stream()
+                .collect(Collectors.toMap(ItemBooking::getItemId, b -> b, (first, second) -> first));
+    }
+
+    private Optional<ItemBooking> first(List<ItemBooking> bookings) {
+        return bookings.stream().findFirst();
+    }
+
     private boolean isUserBookedItem(long userId, long itemId) {
-        boolean isPastBooking = bookingRepository
-                .findAllByBookerIdAndEndBefore(userId, LocalDateTime.now())
-                .stream()
-                .anyMatch(booking -> booking.getItem().getId() == itemId);
-        boolean isCurrentBooking = bookingRepository
-                .findAllCurrentByBookerId(userId, LocalDateTime.now())
-                .stream()
-                .anyMatch(booking -> booking.getItem().getId() == itemId);
-        return isPastBooking || isCurrentBooking;
+        return commentEligibility.isEligible(userId, itemId);
     }
 }
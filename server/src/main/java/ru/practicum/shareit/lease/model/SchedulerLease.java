@@ -0,0 +1,41 @@
+package ru.practicum.shareit.lease.model;
+
+import lombok.*;
+import org.hibernate.Hibernate;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Entity
+@Table(name = "scheduler_leases")
+@Getter
+@Setter
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+public class SchedulerLease {
+    @Id
+    private String name;
+
+    private String owner;
+
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || Hibernate.getClass(this) != Hibernate.getClass(o)) return false;
+        SchedulerLease lease = (SchedulerLease) o;
+        return name != null && Objects.equals(name, lease.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+}
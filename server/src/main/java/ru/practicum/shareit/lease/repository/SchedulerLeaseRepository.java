@@ -0,0 +1,18 @@
+package ru.practicum.shareit.lease.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.lease.model.SchedulerLease;
+
+import java.time.LocalDateTime;
+
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update SchedulerLease l set l.owner = :owner, l.lockedUntil = :lockedUntil " +
+            "where l.name = :name and (l.owner = :owner or l.lockedUntil < :currentTime)")
+    int tryAcquire(String name, String owner, LocalDateTime currentTime, LocalDateTime lockedUntil);
+}
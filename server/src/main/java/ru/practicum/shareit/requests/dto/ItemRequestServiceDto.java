@@ -3,7 +3,7 @@ package ru.practicum.shareit.requests.dto;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.requests.model.ItemRequest;
 
 import java.util.List;
@@ -13,5 +13,5 @@ import java.util.List;
 @NoArgsConstructor
 public class ItemRequestServiceDto {
     private ItemRequest itemRequest;
-    private List<Item> items;
+    private List<ItemDto> items;
 }
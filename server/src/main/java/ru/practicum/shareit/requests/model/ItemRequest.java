@@ -2,6 +2,8 @@ package ru.practicum.shareit.requests.model;
 
 import lombok.*;
 import org.hibernate.Hibernate;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import ru.practicum.shareit.user.model.User;
 
 import javax.persistence.*;
@@ -13,6 +15,8 @@ import java.util.Objects;
 @ToString
 @Entity
 @Table(name = "item_requests")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "item_requests")
 @NoArgsConstructor
 @AllArgsConstructor
 public class ItemRequest {
@@ -2,14 +2,21 @@ package ru.practicum.shareit.requests.repository;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import ru.practicum.shareit.requests.model.ItemRequest;
 
+import javax.persistence.QueryHint;
 import java.util.List;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     List<ItemRequest> findAllByRequesterId(long requesterId);
 
+    @EntityGraph(attributePaths = "requester")
     Page<ItemRequest> findAllByRequesterIdNot(long userId, Pageable pageable);
 }
@@ -4,7 +4,9 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.requests.dto.ItemRequestServiceDto;
 import ru.practicum.shareit.requests.model.ItemRequest;
@@ -14,6 +16,7 @@ import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -36,30 +39,28 @@ public class RequestServiceImpl implements RequestService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ItemRequestServiceDto> findAllByRequester(long userId) throws NotFoundException {
         Optional<User> user = userRepository.findById(userId);
         if (user.isEmpty()) {
             throw new NotFoundException("Пользователь " + userId + " не найден");
         }
-        return requestRepository.findAllByRequesterId(userId)
-                .stream()
-                .map(r -> new ItemRequestServiceDto(r, itemRepository.findAllByRequestId(r.getId())))
-                .collect(Collectors.toList());
+        return withItems(requestRepository.findAllByRequesterId(userId));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ItemRequestServiceDto> findAll(int from, int size, long userId) throws NotFoundException {
         Optional<User> user = userRepository.findById(userId);
         if (user.isEmpty()) {
             throw new NotFoundException("Пользователь " + userId + " не найден");
         }
-        return requestRepository.findAllByRequesterIdNot(userId, PageRequest.of(from / size, size, Sort.by(Sort.Order.desc("created"))))
-                .stream()
-                .map(r -> new ItemRequestServiceDto(r, itemRepository.findAllByRequestId(r.getId())))
-                .collect(Collectors.toList());
+        return withItems(requestRepository.findAllByRequesterIdNot(userId, PageRequest.of(from / size, size, Sort.by(Sort.Order.desc("created"))))
+                .getContent());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ItemRequestServiceDto findById(long id, long userId) throws Throwable {
         Optional<User> user = userRepository.findById(userId);
         if (user.isEmpty()) {
@@ -73,7 +74,22 @@ public class RequestServiceImpl implements RequestService {
 
         return new ItemRequestServiceDto(
                 request,
-                itemRepository.findAllByRequestId(request.getId())
+                itemRepository.findItemDtosByRequestId(request.getId())
         );
     }
+
+    private List<ItemRequestServiceDto> withItems(List<ItemRequest> requests) {
+        if (requests.isEmpty()) {
+            return List.of();
+        }
+        List<Long> requestIds = requests.stream()
+                .map(ItemRequest::getId)
+                .collect(Collectors.toList());
+        Map<Long, List<ItemDto>> items = itemRepository.findItemDtosByRequestIdIn(requestIds)
+                .stream()
+                .collect(Collectors.groupingBy(ItemDto::getRequestId));
+        return requests.stream()
+                .map(r -> new ItemRequestServiceDto(r, items.getOrDefault(r.getId(), List.of())))
+                .collect(Collectors.toList());
+    }
 }
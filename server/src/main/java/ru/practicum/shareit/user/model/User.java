@@ -2,11 +2,13 @@ package ru.practicum.shareit.user.model;
 
 import lombok.*;
 import org.hibernate.Hibernate;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import ru.practicum.shareit.id.BlockIdOptimizer;
 
-import javax.persistence.Column;
-import javax.persistence.Entity;
-import javax.persistence.Id;
-import javax.persistence.Table;
+import javax.persistence.*;
 import javax.validation.constraints.Email;
 import java.util.Objects;
 
@@ -17,9 +19,20 @@ import java.util.Objects;
 @NoArgsConstructor
 @Entity
 @Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
 public class User {
     @Id
-    //@GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "users_id_generator")
+    @GenericGenerator(
+            name = "users_id_generator",
+            strategy = "enhanced-sequence",
+            parameters = {
+                    @Parameter(name = "sequence_name", value = "users_id_seq"),
+                    @Parameter(name = "increment_size", value = "50"),
+                    @Parameter(name = "optimizer", value = BlockIdOptimizer.NAME)
+            }
+    )
     private Long id;
 
     @Column
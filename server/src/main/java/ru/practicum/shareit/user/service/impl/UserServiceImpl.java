@@ -2,7 +2,10 @@ package ru.practicum.shareit.user.service.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.AlreadyExistsException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.user.model.User;
@@ -10,6 +13,7 @@ import ru.practicum.shareit.user.repository.UserRepository;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 
 @Slf4j
@@ -17,15 +21,18 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
 
-    private long usersId = 1;
+    private static final String EMAIL_CONSTRAINT = "UQ_USER_EMAIL";
+
     private final UserRepository userRepository;
 
     @Override
+    @Transactional(readOnly = true)
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public User getUser(long id) throws NotFoundException {
         Optional<User> foundUser = userRepository.findById(id);
         if (foundUser.isEmpty()) {
@@ -36,14 +43,13 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public User createUser(User user) throws AlreadyExistsException {
-        long id = usersId++;
-        user.setId(id);
         if (isExistingEmail(user)) {
             throw new AlreadyExistsException(
                     String.format("Пользователь с email %s уже существует", user.getEmail())
             );
         }
-        return userRepository.save(user);
+        user.setId(null);
+        return save(user);
     }
 
     @Override
@@ -58,7 +64,7 @@ public class UserServiceImpl implements UserService {
             throw new NotFoundException(String.format("Пользователь %s не найден", id));
         }
         User updatedUser = patch(user, userRepository.getReferenceById(id));
-        return userRepository.save(updatedUser);
+        return save(updatedUser);
     }
 
     @Override
@@ -67,9 +73,28 @@ public class UserServiceImpl implements UserService {
     }
 
     private boolean isExistingEmail(User user) {
-        return userRepository.findAll().stream()
-                .map(User::getEmail)
-                .anyMatch(e -> e.equals(user.getEmail()));
+        return user.getEmail() != null && userRepository.existsByEmail(user.getEmail());
+    }
+
+    private User save(User user) throws AlreadyExistsException {
+        try {
+            return userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            if (!isEmailConstraintViolation(e)) {
+                throw e;
+            }
+            throw new AlreadyExistsException(
+                    String.format("Пользователь с email %s уже существует", user.getEmail())
+            );
+        }
+    }
+
+    private boolean isEmailConstraintViolation(DataIntegrityViolationException e) {
+        if (!(e.getCause() instanceof ConstraintViolationException)) {
+            return false;
+        }
+        String constraintName = ((ConstraintViolationException) e.getCause()).getConstraintName();
+        return constraintName != null && constraintName.toUpperCase(Locale.ROOT).contains(EMAIL_CONSTRAINT);
     }
 
     private User patch(User patch, User user) {
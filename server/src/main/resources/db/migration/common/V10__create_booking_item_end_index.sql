@@ -0,0 +1,5 @@
+-- overlap checks and availability search: range over bookings of an item ending after the requested start,
+-- status and start filtered inside the index; supersedes IX_BOOKING_ITEM_STATUS_RANGE and IX_BOOKING_ITEM_END
+CREATE INDEX IF NOT EXISTS IX_BOOKING_ITEM_END_STATUS ON bookings (item_id, end_date_time, status, start_date_time);
+DROP INDEX IF EXISTS IX_BOOKING_ITEM_STATUS_RANGE;
+DROP INDEX IF EXISTS IX_BOOKING_ITEM_END;
@@ -1,16 +1,18 @@
+CREATE SEQUENCE IF NOT EXISTS users_id_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS users (
-  id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
-  name VARCHAR(255) NOT NULL,
-  email VARCHAR(512) NOT NULL,
+  id BIGINT NOT NULL,
+  name VARCHAR(255),
+  email VARCHAR(512),
   CONSTRAINT pk_user PRIMARY KEY (id),
   CONSTRAINT UQ_USER_EMAIL UNIQUE (email)
 );
 
 CREATE TABLE IF NOT EXISTS item_requests (
   id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
-  description VARCHAR(4000) NOT NULL,
+  description VARCHAR(4000),
   requester_id BIGINT,
-  created TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+  created TIMESTAMP WITHOUT TIME ZONE,
   CONSTRAINT pk_item_request PRIMARY KEY (id),
   CONSTRAINT FK_ITEM_REQUEST_ON_REQUESTER FOREIGN KEY (requester_id) REFERENCES users (id)
 );
@@ -20,21 +22,20 @@ CREATE TABLE IF NOT EXISTS items (
   name VARCHAR(255),
   description VARCHAR(4000),
   available BOOLEAN,
-  owner_id BIGINT NOT NULL,
+  owner_id BIGINT,
   request_id BIGINT,
   CONSTRAINT pk_item PRIMARY KEY (id),
   CONSTRAINT FK_ITEM_ON_OWNER FOREIGN KEY (owner_id) REFERENCES users (id),
-  CONSTRAINT FK_ITEM_ON_REQUEST FOREIGN KEY (request_id) REFERENCES item_requests (id),
-  CONSTRAINT UQ_OWNER_ITEM_NAME UNIQUE(owner_id, name)
+  CONSTRAINT FK_ITEM_ON_REQUEST FOREIGN KEY (request_id) REFERENCES item_requests (id)
 );
 
 CREATE TABLE IF NOT EXISTS bookings (
   id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
-  start_date_time TIMESTAMP WITHOUT TIME ZONE NOT NULL,
-  end_date_time TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+  start_date_time TIMESTAMP WITHOUT TIME ZONE,
+  end_date_time TIMESTAMP WITHOUT TIME ZONE,
   item_id BIGINT,
   booker_id BIGINT,
-  status INT,
+  status VARCHAR(20),
   CONSTRAINT pk_booking PRIMARY KEY (id),
   CONSTRAINT FK_BOOKING_ON_BOOKER FOREIGN KEY (booker_id) REFERENCES users (id),
   CONSTRAINT FK_BOOKING_ON_ITEM FOREIGN KEY (item_id) REFERENCES items (id)
@@ -42,11 +43,11 @@ CREATE TABLE IF NOT EXISTS bookings (
 
 CREATE TABLE IF NOT EXISTS comments (
   id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
-  text VARCHAR(4000) NOT NULL,
+  text VARCHAR(4000),
   item_id BIGINT,
   author_id BIGINT,
-  created TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+  created TIMESTAMP WITHOUT TIME ZONE,
   CONSTRAINT pk_comment PRIMARY KEY (id),
   CONSTRAINT FK_COMMENT_ON_AUTHOR FOREIGN KEY (author_id) REFERENCES users (id),
   CONSTRAINT FK_COMMENT_ON_ITEM FOREIGN KEY (item_id) REFERENCES items (id)
-);
\ No newline at end of file
+);
@@ -0,0 +1,15 @@
+-- bookings of a booker: ALL, CURRENT, PAST, FUTURE and keyset pages ordered by start
+CREATE INDEX IF NOT EXISTS IX_BOOKING_BOOKER_START ON bookings (booker_id, start_date_time, id);
+
+-- bookings of a booker by status: WAITING, REJECTED
+CREATE INDEX IF NOT EXISTS IX_BOOKING_BOOKER_STATUS ON bookings (booker_id, status, start_date_time);
+
+-- bookings of an item: owner listings through items.owner_id, overlap checks, last/next booking
+CREATE INDEX IF NOT EXISTS IX_BOOKING_ITEM_START ON bookings (item_id, start_date_time);
+CREATE INDEX IF NOT EXISTS IX_BOOKING_ITEM_END ON bookings (item_id, end_date_time);
+CREATE INDEX IF NOT EXISTS IX_BOOKING_ITEM_STATUS ON bookings (item_id, status, start_date_time);
+
+CREATE INDEX IF NOT EXISTS IX_ITEM_OWNER ON items (owner_id, id);
+CREATE INDEX IF NOT EXISTS IX_ITEM_REQUEST ON items (request_id);
+CREATE INDEX IF NOT EXISTS IX_COMMENT_ITEM ON comments (item_id);
+CREATE INDEX IF NOT EXISTS IX_ITEM_REQUEST_REQUESTER ON item_requests (requester_id);
@@ -0,0 +1,2 @@
+-- comment eligibility: approved booking of an item by a booker that has already started
+CREATE INDEX IF NOT EXISTS IX_BOOKING_BOOKER_ITEM_START ON bookings (booker_id, item_id, start_date_time);
@@ -0,0 +1,4 @@
+-- availability search: anti-join on approved bookings of an item overlapping the requested period,
+-- supersedes IX_BOOKING_ITEM_STATUS for overlap checks
+CREATE INDEX IF NOT EXISTS IX_BOOKING_ITEM_STATUS_RANGE ON bookings (item_id, status, start_date_time, end_date_time);
+DROP INDEX IF EXISTS IX_BOOKING_ITEM_STATUS;
@@ -0,0 +1,12 @@
+-- leases of scheduled jobs shared by all server instances: a job runs only on the current holder
+CREATE TABLE IF NOT EXISTS scheduler_leases (
+  name VARCHAR(64) NOT NULL,
+  owner VARCHAR(255),
+  locked_until TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+  CONSTRAINT pk_scheduler_lease PRIMARY KEY (name)
+);
+
+INSERT INTO scheduler_leases (name, locked_until) VALUES ('booking-expiry', TIMESTAMP '1970-01-01 00:00:00');
+
+-- stale waiting bookings: expiry batches by status and start
+CREATE INDEX IF NOT EXISTS IX_BOOKING_STATUS_START ON bookings (status, start_date_time, id);
@@ -0,0 +1,22 @@
+-- cold bookings moved out of bookings by the archiver once they ended before the archive horizon
+CREATE TABLE IF NOT EXISTS bookings_archive (
+  id BIGINT NOT NULL,
+  start_date_time TIMESTAMP WITHOUT TIME ZONE,
+  end_date_time TIMESTAMP WITHOUT TIME ZONE,
+  item_id BIGINT,
+  booker_id BIGINT,
+  status VARCHAR(20),
+  CONSTRAINT pk_booking_archive PRIMARY KEY (id),
+  CONSTRAINT FK_BOOKING_ARCHIVE_ON_BOOKER FOREIGN KEY (booker_id) REFERENCES users (id),
+  CONSTRAINT FK_BOOKING_ARCHIVE_ON_ITEM FOREIGN KEY (item_id) REFERENCES items (id)
+);
+
+CREATE INDEX IF NOT EXISTS IX_BOOKING_ARCHIVE_BOOKER_START ON bookings_archive (booker_id, start_date_time, id);
+CREATE INDEX IF NOT EXISTS IX_BOOKING_ARCHIVE_ITEM_START ON bookings_archive (item_id, start_date_time, id);
+CREATE INDEX IF NOT EXISTS IX_BOOKING_ARCHIVE_ITEM_END ON bookings_archive (item_id, end_date_time);
+CREATE INDEX IF NOT EXISTS IX_BOOKING_ARCHIVE_BOOKER_ITEM_START ON bookings_archive (booker_id, item_id, start_date_time);
+
+-- archiver batches: oldest ended bookings first
+CREATE INDEX IF NOT EXISTS IX_BOOKING_END ON bookings (end_date_time, id);
+
+INSERT INTO scheduler_leases (name, locked_until) VALUES ('booking-archive', TIMESTAMP '1970-01-01 00:00:00');
@@ -0,0 +1,2 @@
+-- archived bookings of a booker by status: WAITING, REJECTED
+CREATE INDEX IF NOT EXISTS IX_BOOKING_ARCHIVE_BOOKER_STATUS ON bookings_archive (booker_id, status, start_date_time, id);
@@ -0,0 +1,99 @@
+-- bookings range-partitioned by start_date_time month: bookings_pYYYYMM, plus a default partition
+-- for rows outside the prepared months; create_booking_partitions is called at runtime to stay ahead.
+-- PostgreSQL only and not reversible: applied only with the "partitioning" profile, which also
+-- enables BookingPartitionJob and lets Flyway apply this version after later ones
+ALTER TABLE bookings RENAME TO bookings_legacy;
+ALTER TABLE bookings_legacy ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE bookings_legacy RENAME CONSTRAINT pk_booking TO pk_booking_legacy;
+
+CREATE TABLE bookings (
+  id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+  start_date_time TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+  end_date_time TIMESTAMP WITHOUT TIME ZONE,
+  item_id BIGINT,
+  booker_id BIGINT,
+  status VARCHAR(20),
+  CONSTRAINT pk_booking PRIMARY KEY (id, start_date_time),
+  CONSTRAINT FK_BOOKING_ON_BOOKER FOREIGN KEY (booker_id) REFERENCES users (id),
+  CONSTRAINT FK_BOOKING_ON_ITEM FOREIGN KEY (item_id) REFERENCES items (id)
+) PARTITION BY RANGE (start_date_time);
+
+CREATE TABLE bookings_default PARTITION OF bookings DEFAULT;
+
+CREATE OR REPLACE FUNCTION create_booking_partition(month_start DATE) RETURNS VOID AS $$
+DECLARE
+  partition_name TEXT := 'bookings_p' || to_char(month_start, 'YYYYMM');
+  month_end DATE := (month_start + INTERVAL '1 month')::DATE;
+BEGIN
+  IF to_regclass(partition_name) IS NOT NULL THEN
+    RETURN;
+  END IF;
+  IF EXISTS (SELECT 1 FROM bookings_default WHERE start_date_time >= month_start AND start_date_time < month_end) THEN
+    -- rows of this month already landed in the default partition: move them before attaching
+    EXECUTE format('CREATE TABLE %I (LIKE bookings INCLUDING DEFAULTS)', partition_name);
+    EXECUTE format('WITH moved AS (DELETE FROM bookings_default WHERE start_date_time >= %L AND start_date_time < %L RETURNING *) '
+                   'INSERT INTO %I SELECT * FROM moved', month_start, month_end, partition_name);
+    EXECUTE format('ALTER TABLE bookings ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, month_start, month_end);
+  ELSE
+    EXECUTE format('CREATE TABLE %I PARTITION OF bookings FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, month_start, month_end);
+  END IF;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION create_booking_partitions(first_month DATE, last_month DATE) RETURNS VOID AS $$
+DECLARE
+  month_start DATE := date_trunc('month', first_month)::DATE;
+BEGIN
+  WHILE month_start <= last_month LOOP
+    PERFORM create_booking_partition(month_start);
+    month_start := (month_start + INTERVAL '1 month')::DATE;
+  END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+-- months emptied by the archiver are dropped instead of being scanned
+CREATE OR REPLACE FUNCTION drop_empty_booking_partitions(before_month DATE) RETURNS INT AS $$
+DECLARE
+  child RECORD;
+  has_rows BOOLEAN;
+  dropped INT := 0;
+BEGIN
+  FOR child IN
+    SELECT c.relname
+    FROM pg_inherits i
+    JOIN pg_class c ON c.oid = i.inhrelid
+    WHERE i.inhparent = 'bookings'::regclass
+      AND c.relname ~ '^bookings_p[0-9]{6}$'
+      AND to_date(substring(c.relname FROM 11), 'YYYYMM') + INTERVAL '1 month' <= before_month
+  LOOP
+    EXECUTE format('SELECT EXISTS (SELECT 1 FROM %I)', child.relname) INTO has_rows;
+    IF NOT has_rows THEN
+      EXECUTE format('DROP TABLE %I', child.relname);
+      dropped := dropped + 1;
+    END IF;
+  END LOOP;
+  RETURN dropped;
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT create_booking_partitions(
+  COALESCE((SELECT min(start_date_time) FROM bookings_legacy), now())::DATE,
+  (now() + INTERVAL '12 month')::DATE
+);
+
+INSERT INTO bookings (id, start_date_time, end_date_time, item_id, booker_id, status)
+SELECT id, start_date_time, end_date_time, item_id, booker_id, status FROM bookings_legacy;
+
+DROP TABLE bookings_legacy;
+
+SELECT setval(pg_get_serial_sequence('bookings', 'id'), COALESCE((SELECT max(id) FROM bookings), 0) + 1, false);
+
+CREATE INDEX IF NOT EXISTS IX_BOOKING_BOOKER_START ON bookings (booker_id, start_date_time, id);
+CREATE INDEX IF NOT EXISTS IX_BOOKING_BOOKER_STATUS ON bookings (booker_id, status, start_date_time);
+CREATE INDEX IF NOT EXISTS IX_BOOKING_ITEM_START ON bookings (item_id, start_date_time);
+CREATE INDEX IF NOT EXISTS IX_BOOKING_BOOKER_ITEM_START ON bookings (booker_id, item_id, start_date_time);
+CREATE INDEX IF NOT EXISTS IX_BOOKING_ITEM_END_STATUS ON bookings (item_id, end_date_time, status, start_date_time);
+CREATE INDEX IF NOT EXISTS IX_BOOKING_STATUS_START ON bookings (status, start_date_time, id);
+CREATE INDEX IF NOT EXISTS IX_BOOKING_END ON bookings (end_date_time, id);
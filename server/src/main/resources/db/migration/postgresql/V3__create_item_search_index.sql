@@ -0,0 +1,2 @@
+CREATE INDEX IF NOT EXISTS IX_ITEM_SEARCH ON items
+  USING GIN (to_tsvector('simple', coalesce(name, '') || ' ' || coalesce(description, '')));
@@ -0,0 +1,207 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.dto.BookingDtoCreate;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.UnavailableException;
+import ru.practicum.shareit.item.lock.ItemLocks;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static ru.practicum.shareit.booking.model.BookingStatus.APPROVED;
+import static ru.practicum.shareit.booking.model.BookingStatus.WAITING;
+
+@DirtiesContext
+@SpringBootTest
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingConcurrencyTests {
+
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 10;
+
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final BookingService bookingService;
+    private final ItemLocks itemLocks;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testConcurrentApprovalsOfOverlappingBookings() throws Exception {
+        User owner = userRepository.save(new User(null, "owner", "concurrent-owner@ma.il"));
+        User booker = userRepository.save(new User(null, "booker", "concurrent-booker@ma.il"));
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                Item item = itemRepository.save(new Item(null, "item" + round, "description", true, owner.getId(), null));
+                List<Long> bookingIds = new ArrayList<>();
+                for (int i = 0; i < THREADS; i++) {
+                    Booking booking = bookingRepository.save(new Booking(
+                            null,
+                            start.plusHours(i),
+                            start.plusHours(i + THREADS),
+                            item,
+                            booker,
+                            WAITING
+                    ));
+                    bookingIds.add(booking.getId());
+                }
+
+                AtomicInteger approved = new AtomicInteger();
+                AtomicInteger rejected = new AtomicInteger();
+                CountDownLatch ready = new CountDownLatch(1);
+                List<Future<?>> futures = new ArrayList<>();
+                for (long bookingId : bookingIds) {
+                    futures.add(executor.submit(() -> {
+                        ready.await();
+                        try {
+                            bookingService.approveBooking(bookingId, true, owner.getId());
+                            approved.incrementAndGet();
+                        } catch (UnavailableException e) {
+                            rejected.incrementAndGet();
+                        }
+                        return null;
+                    }));
+                }
+                ready.countDown();
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+
+                Assertions.assertEquals(1, approved.get());
+                Assertions.assertEquals(THREADS - 1, rejected.get());
+                Assertions.assertEquals(1, bookingRepository.findAllById(bookingIds).stream()
+                        .filter(booking -> booking.getStatus() == APPROVED)
+                        .count());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testConcurrentCreationOfOverlappingBookings() throws Exception {
+        User owner = userRepository.save(new User(null, "owner", "creating-owner@ma.il"));
+        List<User> bookers = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            bookers.add(userRepository.save(new User(null, "booker" + i, "creating-booker" + i + "@ma.il")));
+        }
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                Item item = itemRepository.save(new Item(null, "item" + round, "description", true, owner.getId(), null));
+
+                AtomicInteger created = new AtomicInteger();
+                AtomicInteger rejected = new AtomicInteger();
+                CountDownLatch ready = new CountDownLatch(1);
+                List<Future<?>> futures = new ArrayList<>();
+                for (int i = 0; i < THREADS; i++) {
+                    BookingDtoCreate bookingDto = new BookingDtoCreate(
+                            item.getId(),
+                            start.plusHours(i),
+                            start.plusHours(i + THREADS)
+                    );
+                    long bookerId = bookers.get(i).getId();
+                    futures.add(executor.submit(() -> {
+                        ready.await();
+                        try {
+                            bookingService.createBooking(bookingDto, bookerId);
+                            created.incrementAndGet();
+                        } catch (UnavailableException e) {
+                            rejected.incrementAndGet();
+                        }
+                        return null;
+                    }));
+                }
+                ready.countDown();
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+
+                Assertions.assertEquals(1, created.get());
+                Assertions.assertEquals(THREADS - 1, rejected.get());
+                Assertions.assertEquals(1, jdbcTemplate.queryForObject(
+                        "select count(*) from bookings where item_id = ?", Integer.class, item.getId()));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testThreadsWaitingForItemHoldNoConnections() throws Exception {
+        User owner = userRepository.save(new User(null, "owner", "waiting-owner@ma.il"));
+        Item item = itemRepository.save(new Item(null, "item", "description", true, owner.getId(), null));
+        List<User> bookers = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            bookers.add(userRepository.save(new User(null, "booker" + i, "waiting-booker" + i + "@ma.il")));
+        }
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        Lock lock = itemLocks.lock(item.getId());
+        try {
+            int sessions = countSessions();
+            AtomicInteger created = new AtomicInteger();
+            AtomicInteger rejected = new AtomicInteger();
+            List<Future<?>> futures = new ArrayList<>();
+            for (User booker : bookers) {
+                futures.add(executor.submit(() -> {
+                    try {
+                        bookingService.createBooking(new BookingDtoCreate(item.getId(), start, start.plusDays(1)), booker.getId());
+                        created.incrementAndGet();
+                    } catch (UnavailableException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            while (((ReentrantLock) lock).getQueueLength() < THREADS) {
+                Thread.sleep(10);
+            }
+
+            Assertions.assertEquals(sessions, countSessions());
+
+            lock.unlock();
+            lock = null;
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            Assertions.assertEquals(1, created.get());
+            Assertions.assertEquals(THREADS - 1, rejected.get());
+        } finally {
+            if (lock != null) {
+                lock.unlock();
+            }
+            executor.shutdownNow();
+        }
+    }
+
+    private int countSessions() {
+        return jdbcTemplate.queryForObject("select count(*) from information_schema.sessions", Integer.class);
+    }
+}
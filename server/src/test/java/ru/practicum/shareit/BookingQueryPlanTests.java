@@ -0,0 +1,135 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@DirtiesContext
+@SpringBootTest
+@AutoConfigureTestDatabase
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingQueryPlanTests {
+
+    private static final String NOW = "TIMESTAMP '2022-06-01 12:00:00'";
+
+    private static final List<String> QUERIES = List.of(
+            // findAllByBookerId
+            "select b.* from bookings b where b.booker_id = 7 order by b.start_date_time desc limit 10",
+            // findAllCurrentByBookerId
+            "select b.* from bookings b where b.booker_id = 7 " +
+                    "and " + NOW + " between b.start_date_time and b.end_date_time " +
+                    "order by b.start_date_time desc limit 10",
+            // findAllByBookerIdAndEndBefore
+            "select b.* from bookings b where b.booker_id = 7 and b.end_date_time < " + NOW +
+                    " order by b.start_date_time desc limit 10",
+            // findAllByBookerIdAndStartAfter
+            "select b.* from bookings b where b.booker_id = 7 and b.start_date_time > " + NOW +
+                    " order by b.start_date_time desc limit 10",
+            // findAllByBookerIdAndStatus
+            "select b.* from bookings b where b.booker_id = 7 and b.status = 'WAITING' " +
+                    "order by b.start_date_time desc limit 10",
+            // findPageByBookerId
+            "select b.* from bookings b where b.booker_id = 7 " +
+                    "and (b.start_date_time < " + NOW + " or (b.start_date_time = " + NOW + " and b.id < 100)) " +
+                    "order by b.start_date_time desc, b.id desc limit 10",
+            // findAllByItemOwner
+            "select b.* from bookings b join items i on b.item_id = i.id where i.owner_id = 7 " +
+                    "order by b.start_date_time desc limit 10",
+            // findAllCurrentByItemOwner
+            "select b.* from bookings b join items i on b.item_id = i.id where i.owner_id = 7 " +
+                    "and " + NOW + " between b.start_date_time and b.end_date_time " +
+                    "order by b.start_date_time desc limit 10",
+            // findAllByItemOwnerAndEndBefore
+            "select b.* from bookings b join items i on b.item_id = i.id where i.owner_id = 7 " +
+                    "and b.end_date_time < " + NOW + " order by b.start_date_time desc limit 10",
+            // findAllByItemOwnerAndStartAfter
+            "select b.* from bookings b join items i on b.item_id = i.id where i.owner_id = 7 " +
+                    "and b.start_date_time > " + NOW + " order by b.start_date_time desc limit 10",
+            // findAllByItemOwnerAndStatus
+            "select b.* from bookings b join items i on b.item_id = i.id where i.owner_id = 7 " +
+                    "and b.status = 'WAITING' order by b.start_date_time desc limit 10",
+            // findPageByItemOwner
+            "select b.* from bookings b join items i on b.item_id = i.id where i.owner_id = 7 " +
+                    "and (b.start_date_time < " + NOW + " or (b.start_date_time = " + NOW + " and b.id < 100)) " +
+                    "order by b.start_date_time desc, b.id desc limit 10",
+            // existsByBookerIdAndItemIdAndStatusAndStartBefore
+            "select b.id from bookings b where b.booker_id = 7 and b.item_id = 8 and b.status = 'APPROVED' " +
+                    "and b.start_date_time < " + NOW + " limit 1",
+            // existsByItemIdAndStatusInAndStartBeforeAndEndAfter
+            "select b.id from bookings b where b.item_id = 7 and b.status in ('APPROVED', 'WAITING') " +
+                    "and b.start_date_time < " + NOW + " and b.end_date_time > " + NOW + " limit 1",
+            // ItemRepository.searchAvailable, anti-join probe per item
+            "select b.id from bookings b where b.item_id = 7 and b.status = 'APPROVED' " +
+                    "and b.start_date_time < " + NOW + " and b.end_date_time > dateadd('DAY', -1, " + NOW + ") limit 1",
+            // expireWaitingStartedBefore
+            "select b.id from bookings b where b.status = 'WAITING' and b.start_date_time < " + NOW +
+                    " order by b.start_date_time, b.id limit 1000",
+            // findLastByItemId
+            "select b.* from bookings b where b.item_id = 7 and b.status = 'APPROVED' and b.end_date_time < " + NOW +
+                    " order by b.end_date_time desc, b.id desc limit 1",
+            // findNextByItemId
+            "select b.* from bookings b where b.item_id = 7 and b.status = 'APPROVED' and b.end_date_time > " + NOW +
+                    " order by b.start_date_time, b.id limit 1",
+            // findLastByItemIdIn
+            "select b.* from bookings b where b.item_id in (7, 8, 9) and b.status = 'APPROVED' and b.end_date_time = " +
+                    "(select max(lb.end_date_time) from bookings lb where lb.item_id = b.item_id " +
+                    "and lb.status = 'APPROVED' and lb.end_date_time < " + NOW + ") order by b.id desc",
+            // findNextByItemIdIn
+            "select b.* from bookings b where b.item_id in (7, 8, 9) and b.status = 'APPROVED' " +
+                    "and b.end_date_time > " + NOW + " and b.start_date_time = " +
+                    "(select min(nb.start_date_time) from bookings nb where nb.item_id = b.item_id " +
+                    "and nb.status = 'APPROVED' and nb.end_date_time > " + NOW + ") order by b.id"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("insert into users (id, name, email) " +
+                "select x, 'user' || x, 'user' || x || '@ma.il' from system_range(1, 1000)");
+        jdbcTemplate.update("insert into items (name, description, available, owner_id) " +
+                "select 'item' || x, 'description', true, mod(x, 1000) + 1 from system_range(1, 5000)");
+        jdbcTemplate.update("insert into bookings (start_date_time, end_date_time, item_id, booker_id, status) " +
+                "select dateadd('HOUR', x - 10000, " + NOW + "), dateadd('HOUR', x - 9990, " + NOW + "), " +
+                "mod(x, 5000) + 1, mod(x * 7, 1000) + 1, " +
+                "case mod(x, 3) when 0 then 'APPROVED' when 1 then 'WAITING' else 'REJECTED' end " +
+                "from system_range(1, 20000)");
+        jdbcTemplate.update("insert into bookings (start_date_time, end_date_time, item_id, booker_id, status) " +
+                "select dateadd('HOUR', -2 * x, " + NOW + "), dateadd('HOUR', 1 - 2 * x, " + NOW + "), " +
+                "1, 2, 'APPROVED' from system_range(1, 10000)");
+        jdbcTemplate.execute("analyze");
+    }
+
+    @Test
+    void testBookingQueriesUseIndexes() {
+        for (String query : QUERIES) {
+            String plan = String.join("\n", jdbcTemplate.queryForList("explain " + query, String.class));
+            Assertions.assertFalse(plan.contains("tableScan"), "Sequential scan in plan:\n" + plan);
+        }
+    }
+
+    @Test
+    void testOverlapCheckScansOnlyBookingsEndingAfterStart() {
+        String plan = String.join("\n", jdbcTemplate.queryForList("explain analyze " +
+                "select b.id from bookings b where b.item_id = 1 and b.status in ('APPROVED', 'WAITING') " +
+                "and b.start_date_time < dateadd('HOUR', 21, " + NOW + ") " +
+                "and b.end_date_time > dateadd('HOUR', 20, " + NOW + ") limit 1", String.class));
+        Matcher scanCount = Pattern.compile("scanCount: (\\d+)").matcher(plan);
+
+        Assertions.assertTrue(plan.contains("IX_BOOKING_ITEM_END_STATUS"), plan);
+        Assertions.assertTrue(scanCount.find(), plan);
+        Assertions.assertTrue(Integer.parseInt(scanCount.group(1)) < 10, plan);
+    }
+}
@@ -0,0 +1,134 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.practicum.shareit.booking.dto.BookingDtoCreate;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemDtoCreated;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+@DirtiesContext
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = "shareit.search.engine=fulltext")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class FullTextSearchTests {
+
+    private static final int SEEDED_ITEMS = 100_000;
+
+    private static final Pattern EXECUTION_TIME = Pattern.compile("Execution Time: ([\\d.]+) ms");
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:14-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    private final UserService userService;
+    private final ItemService itemService;
+    private final BookingService bookingService;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testSearchMatchesWordPrefixes() throws Throwable {
+        User owner = userService.createUser(new User(null, "owner", "fulltext-owner@ma.il"));
+        Item drill = itemService.createItem(new ItemDtoCreated("Дрель", "Аккумуляторная дрель", true, null), owner.getId());
+        itemService.createItem(new ItemDtoCreated("Дрель ударная", "Сетевая", false, null), owner.getId());
+        Item screwdriver = itemService.createItem(new ItemDtoCreated("Отвёртка", "Крестовая, для дрели", true, null), owner.getId());
+
+        Assertions.assertEquals(List.of(drill.getId(), screwdriver.getId()), ids(itemService.searchItems("дрел", null, null, 0, 10)));
+        Assertions.assertEquals(List.of(drill.getId()), ids(itemService.searchItems("АККУМ дрель", null, null, 0, 10)));
+        Assertions.assertEquals(List.of(), ids(itemService.searchItems("сетевая", null, null, 0, 10)));
+        Assertions.assertEquals(List.of(), ids(itemService.searchItems("!!!", null, null, 0, 10)));
+    }
+
+    @Test
+    void testSearchAvailableSkipsApprovedBookings() throws Throwable {
+        User owner = userService.createUser(new User(null, "owner", "fulltext-period-owner@ma.il"));
+        User booker = userService.createUser(new User(null, "booker", "fulltext-period-booker@ma.il"));
+        Item saw = itemService.createItem(new ItemDtoCreated("Пила", "Циркулярная пила", true, null), owner.getId());
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Booking booking = bookingService.createBooking(new BookingDtoCreate(saw.getId(), start, start.plusDays(2)), booker.getId());
+
+        Assertions.assertEquals(List.of(saw.getId()), ids(itemService.searchItems("циркуляр", start, start.plusDays(1), 0, 10)));
+
+        bookingService.approveBooking(booking.getId(), true, owner.getId());
+
+        Assertions.assertEquals(List.of(), ids(itemService.searchItems("циркуляр", start, start.plusDays(1), 0, 10)));
+        Assertions.assertEquals(List.of(saw.getId()),
+                ids(itemService.searchItems("циркуляр", start.plusDays(3), start.plusDays(4), 0, 10)));
+    }
+
+    @Test
+    void testFullTextSearchUsesIndexAndBeatsLike() throws Throwable {
+        User owner = userService.createUser(new User(null, "owner", "fulltext-plan-owner@ma.il"));
+        jdbcTemplate.update("insert into items (name, description, available, owner_id) " +
+                "select case when g % 10000 = 0 then 'Перфоратор ' || g else 'Вещь ' || g end, " +
+                "md5(g::text) || ' ' || md5((g + 1)::text), true, ? " +
+                "from generate_series(1, ?) g", owner.getId(), SEEDED_ITEMS);
+        jdbcTemplate.execute("analyze items");
+
+        String fullText = nativeQuery("fullTextSearch").replace(":query", "'перфоратор:*'") + " limit 10";
+        // ItemRepository.search as Hibernate renders it for PostgreSQL
+        String like = "select * from items i " +
+                "where (upper(i.name) like upper('%перфоратор%') or upper(i.description) like upper('%перфоратор%')) " +
+                "and i.available = true limit 10";
+
+        Assertions.assertEquals(SEEDED_ITEMS / 10000, jdbcTemplate.queryForList(fullText).size());
+        Assertions.assertEquals(SEEDED_ITEMS / 10000, jdbcTemplate.queryForList(like).size());
+
+        String fullTextPlan = explain(fullText);
+        Assertions.assertTrue(fullTextPlan.toLowerCase().contains("ix_item_search"), fullTextPlan);
+
+        double fullTextMillis = executionMillis(fullTextPlan);
+        double likeMillis = executionMillis(explain(like));
+        Assertions.assertTrue(fullTextMillis < likeMillis,
+                "full-text " + fullTextMillis + " ms, like " + likeMillis + " ms");
+    }
+
+    private String explain(String sql) {
+        // warm the buffer cache so both queries are measured on the same footing
+        jdbcTemplate.queryForList(sql);
+        return String.join("\n", jdbcTemplate.queryForList("explain analyze " + sql, String.class));
+    }
+
+    private static double executionMillis(String plan) {
+        Matcher matcher = EXECUTION_TIME.matcher(plan);
+        Assertions.assertTrue(matcher.find(), plan);
+        return Double.parseDouble(matcher.group(1));
+    }
+
+    private static String nativeQuery(String method) throws NoSuchMethodException {
+        return ItemRepository.class.getMethod(method, String.class, Pageable.class).getAnnotation(Query.class).value();
+    }
+
+    private static List<Long> ids(List<Item> items) {
+        return items.stream().map(Item::getId).collect(Collectors.toList());
+    }
+}
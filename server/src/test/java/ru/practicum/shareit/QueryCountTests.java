@@ -0,0 +1,329 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.annotation.Rollback;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.controller.BookingController;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemDtoService;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.requests.dto.ItemRequestServiceDto;
+import ru.practicum.shareit.requests.model.ItemRequest;
+import ru.practicum.shareit.requests.service.RequestService;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static ru.practicum.shareit.booking.model.BookingStatus.APPROVED;
+import static ru.practicum.shareit.booking.model.BookingStatus.EXPIRED;
+import static ru.practicum.shareit.booking.model.BookingStatus.REJECTED;
+import static ru.practicum.shareit.booking.model.BookingStatus.WAITING;
+
+@Transactional
+@Rollback
+@DirtiesContext
+@SpringBootTest
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class QueryCountTests {
+
+    private final EntityManager em;
+    private final ItemService itemService;
+    private final BookingService bookingService;
+    private final RequestService requestService;
+    private final BookingController bookingController;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setup() {
+        statistics = em.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+    }
+
+    @Test
+    void testGetAllUserItemsQueryCount() {
+        User owner = new User(null, "owner", "owner@ma.il");
+        em.persist(owner);
+        LocalDateTime now = LocalDateTime.now();
+        int itemsCount = 20;
+        for (int i = 0; i < itemsCount; i++) {
+            Item item = new Item(null, "item" + i, "description", true, owner.getId(), null);
+            em.persist(item);
+            User booker = new User(null, "booker" + i, "booker" + i + "@ma.il");
+            em.persist(booker);
+            em.persist(new Booking(null, now.minusDays(2), now.minusDays(1), item, booker, APPROVED));
+            em.persist(new Booking(null, now.plusDays(1), now.plusDays(2), item, booker, APPROVED));
+            em.persist(new Comment(null, "comment", item, booker, now));
+        }
+        em.flush();
+        em.clear();
+        statistics.clear();
+
+        List<ItemDtoService> foundItems = itemService.getAllUserItems(owner.getId(), 0, itemsCount);
+
+        Assertions.assertEquals(itemsCount, foundItems.size());
+        foundItems.forEach(item -> {
+            Assertions.assertNotNull(item.getLastBooking());
+            Assertions.assertNotNull(item.getNextBooking());
+            Assertions.assertEquals(1, item.getComments().size());
+        });
+        Assertions.assertEquals(4, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void testLastAndNextBookingTiesBreakById() throws Exception {
+        User owner = new User(null, "owner", "tie-owner@ma.il");
+        em.persist(owner);
+        User booker = new User(null, "booker", "tie-booker@ma.il");
+        em.persist(booker);
+        Item item = new Item(null, "item", "description", true, owner.getId(), null);
+        em.persist(item);
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        List<Booking> past = new ArrayList<>();
+        List<Booking> future = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Booking pastBooking = new Booking(null, now.minusDays(2), now.minusDays(1), item, booker, APPROVED);
+            em.persist(pastBooking);
+            past.add(pastBooking);
+            Booking futureBooking = new Booking(null, now.plusDays(1), now.plusDays(2), item, booker, APPROVED);
+            em.persist(futureBooking);
+            future.add(futureBooking);
+        }
+        em.flush();
+        em.clear();
+
+        ItemDtoService foundItem = itemService.getItem(item.getId(), owner.getId());
+        ItemDtoService listedItem = itemService.getAllUserItems(owner.getId(), 0, 10).get(0);
+
+        Assertions.assertEquals(past.get(2).getId(), foundItem.getLastBooking().getId());
+        Assertions.assertEquals(future.get(0).getId(), foundItem.getNextBooking().getId());
+        Assertions.assertEquals(foundItem.getLastBooking().getId(), listedItem.getLastBooking().getId());
+        Assertions.assertEquals(foundItem.getNextBooking().getId(), listedItem.getNextBooking().getId());
+    }
+
+    @Test
+    void testLastAndNextBookingAreApprovedAndNextIncludesCurrent() throws Exception {
+        User owner = new User(null, "owner", "status-owner@ma.il");
+        em.persist(owner);
+        User booker = new User(null, "booker", "status-booker@ma.il");
+        em.persist(booker);
+        Item item = new Item(null, "item", "description", true, owner.getId(), null);
+        em.persist(item);
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        Booking last = new Booking(null, now.minusDays(3), now.minusDays(2), item, booker, APPROVED);
+        em.persist(last);
+        em.persist(new Booking(null, now.minusDays(2), now.minusDays(1), item, booker, REJECTED));
+        em.persist(new Booking(null, now.minusHours(3), now.minusHours(2), item, booker, EXPIRED));
+        em.persist(new Booking(null, now.minusHours(2), now.plusHours(2), item, booker, REJECTED));
+        Booking current = new Booking(null, now.minusHours(1), now.plusHours(1), item, booker, APPROVED);
+        em.persist(current);
+        em.persist(new Booking(null, now.plusDays(1), now.plusDays(2), item, booker, APPROVED));
+        em.flush();
+        em.clear();
+
+        ItemDtoService foundItem = itemService.getItem(item.getId(), owner.getId());
+        ItemDtoService listedItem = itemService.getAllUserItems(owner.getId(), 0, 10).get(0);
+
+        Assertions.assertEquals(last.getId(), foundItem.getLastBooking().getId());
+        Assertions.assertEquals(current.getId(), foundItem.getNextBooking().getId());
+        Assertions.assertEquals(last.getId(), listedItem.getLastBooking().getId());
+        Assertions.assertEquals(current.getId(), listedItem.getNextBooking().getId());
+    }
+
+    @Test
+    void testPostCommentQueryCountForHeavyBooker() throws Exception {
+        User owner = new User(null, "owner", "heavy-owner@ma.il");
+        em.persist(owner);
+        User booker = new User(null, "booker", "heavy-booker@ma.il");
+        em.persist(booker);
+        LocalDateTime start = LocalDateTime.now().minusYears(1);
+        int bookingsCount = 10_000;
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Item item = new Item(null, "item" + i, "description", true, owner.getId(), null);
+            em.persist(item);
+            items.add(item);
+        }
+        for (int i = 0; i < bookingsCount; i++) {
+            LocalDateTime bookingStart = start.plusMinutes(i * 10L);
+            em.persist(new Booking(null, bookingStart, bookingStart.plusMinutes(5), items.get(i % items.size()), booker, APPROVED));
+        }
+        em.flush();
+        em.clear();
+        em.getEntityManagerFactory().getCache().evictAll();
+        statistics.clear();
+
+        Comment comment = itemService.postComment(booker.getId(), items.get(42).getId(), new Comment(null, "comment", null, null, LocalDateTime.now()));
+        em.flush();
+
+        Assertions.assertNotNull(comment.getId());
+        Assertions.assertEquals(2, statistics.getEntityLoadCount());
+        Assertions.assertEquals(4, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testSearchAvailableItemsQueryCount() throws Exception {
+        User owner = new User(null, "owner", "search-owner@ma.il");
+        em.persist(owner);
+        User booker = new User(null, "booker", "search-booker@ma.il");
+        em.persist(booker);
+        LocalDateTime start = LocalDateTime.now().plusDays(10).truncatedTo(ChronoUnit.SECONDS);
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Item item = new Item(null, "drill" + i, "description", true, owner.getId(), null);
+            em.persist(item);
+            items.add(item);
+            for (int j = 0; j < 50; j++) {
+                em.persist(new Booking(null, start.minusDays(j + 2), start.minusDays(j + 1), item, booker, APPROVED));
+            }
+        }
+        em.persist(new Booking(null, start.minusHours(1), start.plusHours(1), items.get(0), booker, APPROVED));
+        em.persist(new Booking(null, start.plusHours(23), start.plusDays(2), items.get(1), booker, APPROVED));
+        em.persist(new Booking(null, start, start.plusDays(1), items.get(2), booker, WAITING));
+        em.persist(new Booking(null, start.plusDays(1), start.plusDays(2), items.get(3), booker, APPROVED));
+        em.flush();
+        em.clear();
+        statistics.clear();
+
+        List<Item> foundItems = itemService.searchItems("drill", start, start.plusDays(1), 0, 20);
+
+        Assertions.assertEquals(
+                items.subList(2, items.size()).stream().map(Item::getId).collect(Collectors.toList()),
+                foundItems.stream().map(Item::getId).collect(Collectors.toList())
+        );
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testGetBookingsQueryCount() throws Exception {
+        User booker = new User(null, "booker", "list-booker@ma.il");
+        em.persist(booker);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        int bookingsCount = 100;
+        for (int i = 0; i < bookingsCount / 5; i++) {
+            User owner = new User(null, "owner" + i, "list-owner" + i + "@ma.il");
+            em.persist(owner);
+            Item item = new Item(null, "item" + i, "description", true, owner.getId(), null);
+            em.persist(item);
+            for (int j = 0; j < 5; j++) {
+                em.persist(new Booking(null, start.plusDays(j), start.plusDays(j).plusHours(1), item, booker, APPROVED));
+            }
+        }
+        em.flush();
+        em.clear();
+        em.getEntityManagerFactory().getCache().evictAll();
+        statistics.clear();
+
+        List<BookingDto> foundBookings = bookingController.getBookings(0, bookingsCount, "ALL", null, booker.getId())
+                .getBody();
+
+        Assertions.assertEquals(bookingsCount, foundBookings.size());
+        foundBookings.forEach(booking -> Assertions.assertNotNull(booking.getItem().getName()));
+        Assertions.assertEquals(2, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(1, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void testKeysetBookingPagesCoverAllBookingsOnce() throws Exception {
+        User owner = new User(null, "owner", "keyset-owner@ma.il");
+        em.persist(owner);
+        User booker = new User(null, "booker", "keyset-booker@ma.il");
+        em.persist(booker);
+        Item item = new Item(null, "item", "description", true, owner.getId(), null);
+        em.persist(item);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<Long> expectedIds = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            Booking booking = new Booking(null, start.plusHours(i % 5), start.plusHours(i % 5 + 1), item, booker, APPROVED);
+            em.persist(booking);
+            expectedIds.add(booking.getId());
+        }
+        em.flush();
+        em.clear();
+
+        List<Long> bookerIds = new ArrayList<>();
+        List<Long> ownerIds = new ArrayList<>();
+        BookingCursor bookerCursor = BookingCursor.FIRST;
+        BookingCursor ownerCursor = BookingCursor.FIRST;
+        List<BookingDto> bookerPage;
+        do {
+            bookerPage = bookingService.findUserBookingsPageByState(booker.getId(), BookingState.FUTURE, bookerCursor, 10);
+            List<BookingDto> ownerPage = bookingService.findOwnerBookingsPageByState(owner.getId(), BookingState.ALL, ownerCursor, 10);
+            bookerPage.forEach(booking -> bookerIds.add(booking.getId()));
+            ownerPage.forEach(booking -> ownerIds.add(booking.getId()));
+            if (!bookerPage.isEmpty()) {
+                bookerCursor = BookingCursor.of(bookerPage.get(bookerPage.size() - 1));
+                ownerCursor = BookingCursor.of(ownerPage.get(ownerPage.size() - 1));
+            }
+        } while (bookerPage.size() == 10);
+
+        expectedIds.sort(null);
+        Assertions.assertEquals(expectedIds, bookerIds.stream().sorted().collect(Collectors.toList()));
+        Assertions.assertEquals(bookerIds, ownerIds);
+    }
+
+    @Test
+    void testFindAllRequestsQueryCount() throws Exception {
+        User user = new User(null, "user", "requests-user@ma.il");
+        em.persist(user);
+        LocalDateTime now = LocalDateTime.now();
+        int requestersCount = 10;
+        int requestsCount = 50;
+        int itemsPerRequest = 3;
+        List<User> requesters = new ArrayList<>();
+        for (int i = 0; i < requestersCount; i++) {
+            User requester = new User(null, "requester" + i, "requester" + i + "@ma.il");
+            em.persist(requester);
+            requesters.add(requester);
+        }
+        for (int i = 0; i < requestsCount; i++) {
+            User requester = requesters.get(i % requestersCount);
+            ItemRequest request = new ItemRequest(null, "need item " + i, requester, now.minusMinutes(i));
+            em.persist(request);
+            for (int j = 0; j < itemsPerRequest; j++) {
+                em.persist(new Item(null, "item" + i + "-" + j, "description", true, user.getId(), request));
+            }
+        }
+        em.flush();
+        em.clear();
+        statistics.clear();
+
+        List<ItemRequestServiceDto> foundRequests = requestService.findAll(0, requestsCount + 1, user.getId());
+
+        Assertions.assertEquals(requestsCount, foundRequests.size());
+        foundRequests.forEach(request -> Assertions.assertEquals(itemsPerRequest, request.getItems().size()));
+        Assertions.assertEquals(3, statistics.getPrepareStatementCount());
+
+        em.clear();
+        statistics.clear();
+
+        List<ItemRequestServiceDto> requesterRequests = requestService.findAllByRequester(requesters.get(0).getId());
+
+        Assertions.assertEquals(requestsCount / requestersCount, requesterRequests.size());
+        requesterRequests.forEach(request -> Assertions.assertEquals(itemsPerRequest, request.getItems().size()));
+        Assertions.assertEquals(3, statistics.getPrepareStatementCount());
+    }
+}
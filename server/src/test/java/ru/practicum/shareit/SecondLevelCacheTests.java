@@ -0,0 +1,107 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.dto.BookingDtoCreate;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemDtoCreated;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.requests.model.ItemRequest;
+import ru.practicum.shareit.requests.service.RequestService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@DirtiesContext
+@SpringBootTest
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class SecondLevelCacheTests {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final UserService userService;
+    private final ItemService itemService;
+    private final ItemRepository itemRepository;
+    private final BookingService bookingService;
+    private final RequestService requestService;
+
+    private SessionFactory sessionFactory;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setup() {
+        sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        statistics = sessionFactory.getStatistics();
+    }
+
+    @Test
+    void testCachedLookupsSaveStatements() throws Throwable {
+        User owner = userService.createUser(new User(null, "owner", "cache-owner@ma.il"));
+        User booker = userService.createUser(new User(null, "booker", "cache-booker@ma.il"));
+        ItemRequest request = requestService.createRequest(new ItemRequest("need item"), booker.getId());
+        Item item = itemService.createItem(new ItemDtoCreated("item", "description", true, request.getId()), owner.getId());
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Booking booking = bookingService.createBooking(new BookingDtoCreate(item.getId(), start, start.plusDays(1)), booker.getId());
+
+        Map<String, Executable> calls = new LinkedHashMap<>();
+        calls.put("GET /users/{id}", () -> userService.getUser(owner.getId()));
+        calls.put("GET /items/{id}", () -> itemService.getItem(item.getId(), owner.getId()));
+        calls.put("GET /bookings/{id}", () -> bookingService.findBooking(booking.getId(), booker.getId()));
+        calls.put("GET /bookings", () -> bookingService.findUserBookingsByState(booker.getId(), BookingState.ALL, 0, 10));
+        calls.put("GET /bookings/owner", () -> bookingService.findOwnerBookingsByState(owner.getId(), BookingState.ALL, 0, 10));
+        calls.put("GET /requests", () -> requestService.findAllByRequester(booker.getId()));
+        calls.put("GET /requests/all", () -> requestService.findAll(0, 10, owner.getId()));
+        calls.put("GET /requests/{id}", () -> requestService.findById(request.getId(), owner.getId()));
+
+        for (Map.Entry<String, Executable> call : calls.entrySet()) {
+            sessionFactory.getCache().evictAllRegions();
+            long cold = countStatements(call.getValue());
+            long warm = countStatements(call.getValue());
+
+            Assertions.assertTrue(warm < cold, call.getKey() + ": " + cold + " -> " + warm);
+            Assertions.assertTrue(statistics.getSecondLevelCacheHitCount() > 0, call.getKey());
+        }
+    }
+
+    @Test
+    void testDetachedItemsCompareWithoutLoadingRequest() throws Throwable {
+        User owner = userService.createUser(new User(null, "owner", "detached-owner@ma.il"));
+        User requester = userService.createUser(new User(null, "requester", "detached-requester@ma.il"));
+        ItemRequest request = requestService.createRequest(new ItemRequest("need item"), requester.getId());
+        Item item = itemService.createItem(new ItemDtoCreated("item", "description", true, request.getId()), owner.getId());
+
+        Item first = itemRepository.findById(item.getId()).orElseThrow();
+        Item second = itemRepository.findById(item.getId()).orElseThrow();
+
+        Assertions.assertFalse(Hibernate.isInitialized(first.getRequest()));
+        Assertions.assertEquals(first, second);
+        Assertions.assertEquals(first.hashCode(), second.hashCode());
+        Assertions.assertEquals(1, new HashSet<>(List.of(first, second)).size());
+    }
+
+    private long countStatements(Executable call) throws Throwable {
+        statistics.clear();
+        call.execute();
+        return statistics.getPrepareStatementCount();
+    }
+}
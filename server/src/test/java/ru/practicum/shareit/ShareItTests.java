@@ -9,11 +9,13 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.Rollback;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingDtoCreate;
+import ru.practicum.shareit.booking.dto.BookingDtoItem;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.exception.*;
 import ru.practicum.shareit.item.dto.ItemDtoCreated;
 import ru.practicum.shareit.item.dto.ItemDtoService;
+import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.user.model.User;
@@ -34,6 +36,7 @@ class ShareItTests {
 	private final ItemService itemService;
 	private final UserService userService;
 	private final BookingService bookingService;
+	private final ItemMapper itemMapper;
 
 	@Test
 	void testGetUserItems() throws NotFoundException, AlreadyExistsException, ValidationException, AccessException, UnavailableException, NotOwnerException, AlreadyApprovedException, NotBookedException {
@@ -103,7 +106,7 @@ class ShareItTests {
 
 		Assertions.assertEquals(1, allUserItems.size());
 
-		Assertions.assertEquals(new ItemDtoService(secondItem, List.of(), List.of()), allUserItems.get(0));
+		Assertions.assertEquals(new ItemDtoService(itemMapper.toItemDto(secondItem), null, null, List.of()), allUserItems.get(0));
 
 		userService.createUser(new User(
 				null,
@@ -117,13 +120,15 @@ class ShareItTests {
 				LocalDateTime.now().plusHours(6)
 		);
 
-		bookingService.createBooking(creatingBooking, 3);
+		bookingService.createBooking(creatingBooking, 2);
 
 		Booking approvedBooking = bookingService.approveBooking(1, true, 1);
 
 		allUserItems = itemService.getAllUserItems(requestHeaderUserId, 0, 1);
 
-		Assertions.assertEquals(List.of(new ItemDtoService(firstItem, List.of(approvedBooking), List.of())), allUserItems);
+		BookingDtoItem nextBooking = new BookingDtoItem(approvedBooking.getId(), approvedBooking.getBooker().getId());
+
+		Assertions.assertEquals(List.of(new ItemDtoService(itemMapper.toItemDto(firstItem), null, nextBooking, List.of())), allUserItems);
 	}
 
 }
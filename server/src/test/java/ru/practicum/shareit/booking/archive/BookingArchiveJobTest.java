@@ -0,0 +1,160 @@
+package ru.practicum.shareit.booking.archive;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.repository.ArchivedBookingRepository;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.eligibility.CommentEligibility;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static ru.practicum.shareit.booking.model.BookingStatus.APPROVED;
+import static ru.practicum.shareit.booking.model.BookingStatus.REJECTED;
+import static ru.practicum.shareit.booking.model.BookingStatus.WAITING;
+
+@DirtiesContext
+@SpringBootTest(properties = "shareit.booking-archive.batch-size=10")
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingArchiveJobTest {
+
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
+    private final BookingService bookingService;
+    private final ItemService itemService;
+    private final CommentEligibility commentEligibility;
+    private final BookingArchiveJob bookingArchiveJob;
+    private final MeterRegistry meterRegistry;
+
+    @Test
+    void testArchivedBookingsStayVisible() throws Throwable {
+        User owner = userRepository.save(new User(null, "owner", "archive-owner@ma.il"));
+        User booker = userRepository.save(new User(null, "booker", "archive-booker@ma.il"));
+        Item item = itemRepository.save(new Item(null, "item", "description", true, owner.getId(), null));
+        Item oldItem = itemRepository.save(new Item(null, "old item", "description", true, owner.getId(), null));
+        LocalDateTime now = LocalDateTime.now();
+        List<Booking> past = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            LocalDateTime start = now.minusYears(2).minusDays(i);
+            past.add(bookingRepository.save(new Booking(null, start, start.plusHours(1), i == 0 ? oldItem : item, booker, APPROVED)));
+        }
+        for (int i = 0; i < 3; i++) {
+            LocalDateTime start = now.minusDays(i + 1);
+            past.add(bookingRepository.save(new Booking(null, start, start.plusHours(1), item, booker, APPROVED)));
+        }
+        for (int i = 0; i < 2; i++) {
+            LocalDateTime start = now.plusDays(i + 1);
+            bookingRepository.save(new Booking(null, start, start.plusHours(1), item, booker, APPROVED));
+        }
+        Booking oldItemBooking = past.get(0);
+        past.sort(Comparator.comparing(Booking::getStart).reversed());
+        List<Long> expectedPastIds = past.stream().map(Booking::getId).collect(Collectors.toList());
+
+        bookingArchiveJob.run();
+
+        Assertions.assertEquals(25, archivedBookingRepository.count());
+        Assertions.assertEquals(5, bookingRepository.count());
+        Assertions.assertEquals(25, meterRegistry.get("shareit.booking.archive.rows").summary().totalAmount());
+
+        Assertions.assertEquals(expectedPastIds.subList(0, 10),
+                ids(bookingService.findUserBookingsByState(booker.getId(), BookingState.PAST, 0, 10)));
+        Assertions.assertEquals(expectedPastIds.subList(20, 28),
+                ids(bookingService.findUserBookingsByState(booker.getId(), BookingState.PAST, 20, 10)));
+        Assertions.assertEquals(expectedPastIds.subList(0, 10),
+                ids(bookingService.findOwnerBookingsByState(owner.getId(), BookingState.PAST, 0, 10)));
+        Assertions.assertEquals(30, bookingService.findOwnerBookingsByState(owner.getId(), BookingState.ALL, 0, 50).size());
+        Assertions.assertEquals(2, bookingService.findUserBookingsByState(booker.getId(), BookingState.FUTURE, 0, 10).size());
+
+        List<Long> pagedIds = new ArrayList<>();
+        BookingCursor cursor = BookingCursor.FIRST;
+        List<BookingDto> page;
+        do {
+            page = bookingService.findUserBookingsPageByState(booker.getId(), BookingState.PAST, cursor, 10);
+            page.forEach(booking -> pagedIds.add(booking.getId()));
+            if (!page.isEmpty()) {
+                cursor = BookingCursor.of(page.get(page.size() - 1));
+            }
+        } while (page.size() == 10);
+        Assertions.assertEquals(expectedPastIds, pagedIds);
+
+        Booking archived = past.get(past.size() - 1);
+        Assertions.assertEquals(archived.getItem().getId(), bookingService.findBooking(archived.getId(), booker.getId()).getItem().getId());
+        Assertions.assertEquals(oldItemBooking.getId(), itemService.getItem(oldItem.getId(), owner.getId()).getLastBooking().getId());
+        Assertions.assertEquals(oldItemBooking.getId(),
+                itemService.getAllUserItems(owner.getId(), 0, 10).get(1).getLastBooking().getId());
+
+        Assertions.assertTrue(commentEligibility.isEligible(booker.getId(), oldItem.getId()));
+        commentEligibility.rebuild();
+        Assertions.assertTrue(commentEligibility.isEligible(booker.getId(), oldItem.getId()));
+    }
+
+    @Test
+    void testArchivedRejectedBookingsStayVisible() throws Throwable {
+        User owner = userRepository.save(new User(null, "owner", "rejected-owner@ma.il"));
+        User booker = userRepository.save(new User(null, "booker", "rejected-booker@ma.il"));
+        Item item = itemRepository.save(new Item(null, "item", "description", true, owner.getId(), null));
+        LocalDateTime now = LocalDateTime.now();
+        List<Booking> rejected = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            LocalDateTime start = now.minusYears(2).minusDays(i);
+            rejected.add(bookingRepository.save(new Booking(null, start, start.plusHours(1), item, booker, REJECTED)));
+        }
+        for (int i = 0; i < 2; i++) {
+            LocalDateTime start = now.plusDays(i + 1);
+            rejected.add(bookingRepository.save(new Booking(null, start, start.plusHours(1), item, booker, REJECTED)));
+        }
+        LocalDateTime start = now.plusDays(5);
+        bookingRepository.save(new Booking(null, start, start.plusHours(1), item, booker, WAITING));
+        rejected.sort(Comparator.comparing(Booking::getStart).reversed());
+        List<Long> expectedIds = rejected.stream().map(Booking::getId).collect(Collectors.toList());
+
+        bookingArchiveJob.run();
+
+        Assertions.assertTrue(archivedBookingRepository.existsById(rejected.get(rejected.size() - 1).getId()));
+        Assertions.assertEquals(expectedIds.subList(0, 10),
+                ids(bookingService.findUserBookingsByState(booker.getId(), BookingState.REJECTED, 0, 10)));
+        Assertions.assertEquals(expectedIds.subList(10, 14),
+                ids(bookingService.findUserBookingsByState(booker.getId(), BookingState.REJECTED, 10, 10)));
+        Assertions.assertEquals(expectedIds,
+                ids(bookingService.findOwnerBookingsByState(owner.getId(), BookingState.REJECTED, 0, 20)));
+        Assertions.assertEquals(1, bookingService.findOwnerBookingsByState(owner.getId(), BookingState.WAITING, 0, 20).size());
+
+        List<Long> pagedIds = new ArrayList<>();
+        BookingCursor cursor = BookingCursor.FIRST;
+        List<BookingDto> page;
+        do {
+            page = bookingService.findOwnerBookingsPageByState(owner.getId(), BookingState.REJECTED, cursor, 5);
+            page.forEach(booking -> pagedIds.add(booking.getId()));
+            if (!page.isEmpty()) {
+                cursor = BookingCursor.of(page.get(page.size() - 1));
+            }
+        } while (page.size() == 5);
+        Assertions.assertEquals(expectedIds, pagedIds);
+    }
+
+    private List<Long> ids(List<BookingDto> bookings) {
+        return bookings.stream().map(BookingDto::getId).collect(Collectors.toList());
+    }
+}
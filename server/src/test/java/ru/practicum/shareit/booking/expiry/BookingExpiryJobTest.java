@@ -0,0 +1,99 @@
+package ru.practicum.shareit.booking.expiry;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.UnavailableException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.lease.model.SchedulerLease;
+import ru.practicum.shareit.lease.repository.SchedulerLeaseRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static ru.practicum.shareit.booking.model.BookingStatus.*;
+
+@DirtiesContext
+@SpringBootTest(properties = "shareit.booking-expiry.batch-size=7")
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingExpiryJobTest {
+
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final SchedulerLeaseRepository leaseRepository;
+    private final BookingService bookingService;
+    private final BookingExpiryJob bookingExpiryJob;
+    private final MeterRegistry meterRegistry;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void testExpireStaleWaitingBookings() throws Exception {
+        User owner = userRepository.save(new User(null, "owner", "expiry-owner@ma.il"));
+        User booker = userRepository.save(new User(null, "booker", "expiry-booker@ma.il"));
+        Item item = itemRepository.save(new Item(null, "item", "description", true, owner.getId(), null));
+        LocalDateTime now = LocalDateTime.now();
+        List<Booking> stale = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            stale.add(bookingRepository.save(new Booking(null, now.minusHours(i + 2), now.plusHours(1), item, booker, WAITING)));
+        }
+        Booking future = bookingRepository.save(new Booking(null, now.plusDays(1), now.plusDays(2), item, booker, WAITING));
+        Booking recent = bookingRepository.save(new Booking(null, now.minusMinutes(10), now.plusHours(1), item, booker, WAITING));
+        Booking approved = bookingRepository.save(new Booking(null, now.minusDays(2), now.minusDays(1), item, booker, APPROVED));
+        userRepository.findById(owner.getId());
+
+        bookingExpiryJob.run();
+
+        Map<Long, BookingStatus> statuses = statuses();
+        stale.forEach(booking -> Assertions.assertEquals(EXPIRED, statuses.get(booking.getId())));
+        Assertions.assertEquals(WAITING, statuses.get(future.getId()));
+        Assertions.assertEquals(WAITING, statuses.get(recent.getId()));
+        Assertions.assertEquals(APPROVED, statuses.get(approved.getId()));
+        Assertions.assertTrue(entityManagerFactory.getCache().contains(User.class, owner.getId()));
+        DistributionSummary expiredRows = meterRegistry.get("shareit.booking.expiry.rows").summary();
+        Assertions.assertEquals(1, expiredRows.count());
+        Assertions.assertEquals(30, expiredRows.totalAmount());
+        Assertions.assertEquals(1, meterRegistry.get("shareit.booking.expiry.duration").timer().count());
+        Assertions.assertThrows(UnavailableException.class,
+                () -> bookingService.approveBooking(stale.get(0).getId(), true, owner.getId()));
+        Assertions.assertEquals(REJECTED, bookingService.approveBooking(stale.get(1).getId(), false, owner.getId()).getStatus());
+
+        leaseRepository.save(new SchedulerLease(BookingExpiryJob.LEASE_NAME, "other-instance", now.plusHours(1)));
+        Booking late = bookingRepository.save(new Booking(null, now.minusHours(2), now.plusHours(1), item, booker, WAITING));
+
+        bookingExpiryJob.run();
+
+        Assertions.assertEquals(WAITING, statuses().get(late.getId()));
+        Assertions.assertEquals(1, expiredRows.count());
+
+        leaseRepository.save(new SchedulerLease(BookingExpiryJob.LEASE_NAME, "other-instance", now.minusMinutes(1)));
+
+        bookingExpiryJob.run();
+
+        Assertions.assertEquals(EXPIRED, statuses().get(late.getId()));
+        Assertions.assertEquals(31, expiredRows.totalAmount());
+    }
+
+    private Map<Long, BookingStatus> statuses() {
+        return bookingRepository.findAll().stream()
+                .collect(Collectors.toMap(Booking::getId, Booking::getStatus));
+    }
+}
@@ -9,10 +9,12 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.controller.BookingController;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoCreate;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.item.dto.ItemDtoShort;
@@ -22,10 +24,13 @@ import ru.practicum.shareit.user.model.User;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -133,4 +138,46 @@ public class BookingControllerTest {
                 .andExpect(jsonPath("$.end").exists())
                 .andExpect(jsonPath("$.status").value(expectedDto.getStatus().toString()));
     }
+
+    @Test
+    void testGetBookingsWithCursor() throws Exception {
+        BookingDto expectedDto = new BookingDto(
+                testBookingWaiting.getId(),
+                testBookingWaiting.getStart(),
+                testBookingWaiting.getEnd(),
+                testBookingWaiting.getStatus(),
+                new UserDtoShort(testBookingWaiting.getBooker().getId()),
+                new ItemDtoShort(testBookingWaiting.getItem().getId(), testBookingWaiting.getItem().getName())
+        );
+        String nextCursor = BookingCursor.of(expectedDto).encode();
+
+        when(bookingService.findUserBookingsPageByState(testUser2.getId(), BookingState.ALL, BookingCursor.FIRST, 1))
+                .thenReturn(List.of(expectedDto));
+        when(bookingService.findUserBookingsPageByState(testUser2.getId(), BookingState.ALL, BookingCursor.decode(nextCursor), 1))
+                .thenReturn(List.of());
+
+        mockMvc.perform(get("/bookings")
+                        .param("cursor", "")
+                        .param("size", "1")
+                        .header("X-Sharer-User-Id", testUser2.getId())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", nextCursor))
+                .andExpect(jsonPath("$[0].id").value(expectedDto.getId()));
+
+        mockMvc.perform(get("/bookings")
+                        .param("cursor", nextCursor)
+                        .param("size", "1")
+                        .header("X-Sharer-User-Id", testUser2.getId())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(jsonPath("$").isEmpty());
+
+        mockMvc.perform(get("/bookings")
+                        .param("cursor", "not a cursor")
+                        .header("X-Sharer-User-Id", testUser2.getId())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
 }
@@ -20,6 +20,7 @@ import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.user.model.User;
 
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -75,7 +76,7 @@ public class ItemControllerTest {
 
     @Test
     void testGetItem() throws Exception {
-        ItemDtoService itemDtoService = new ItemDtoService(testItem, List.of(), List.of());
+        ItemDtoService itemDtoService = new ItemDtoService(expectedItemDto, null, null, List.of());
         ItemDtoUserView itemDtoUserView = new ItemDtoUserView(
                 testItem.getId(),
                 testItem.getName(),
@@ -110,7 +111,7 @@ public class ItemControllerTest {
     void testSearchItems() throws Exception {
         String searchText = "item";
 
-        when(itemService.searchItems(searchText, 0, 10))
+        when(itemService.searchItems(searchText, null, null, 0, 10))
                 .thenReturn(List.of(testItem));
         when(itemMapper.toItemDto(testItem))
                 .thenReturn(expectedItemDto);
@@ -124,9 +125,31 @@ public class ItemControllerTest {
                 .andExpect(content().json(mapper.writeValueAsString(List.of(expectedItemDto))));
     }
 
+    @Test
+    void testSearchAvailableItems() throws Exception {
+        String searchText = "item";
+        LocalDateTime start = LocalDateTime.of(2022, 1, 1, 12, 0);
+        LocalDateTime end = start.plusDays(1);
+
+        when(itemService.searchItems(searchText, start, end, 0, 10))
+                .thenReturn(List.of(testItem));
+        when(itemMapper.toItemDto(testItem))
+                .thenReturn(expectedItemDto);
+
+        mockMvc.perform(get("/items/search")
+                        .param("text", searchText)
+                        .param("start", "2022-01-01T12:00:00")
+                        .param("end", "2022-01-02T12:00:00")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().json(mapper.writeValueAsString(List.of(expectedItemDto))));
+    }
+
     @Test
     void testGetAllItems() throws Exception {
-        ItemDtoService itemDtoService = new ItemDtoService(testItem, List.of(), List.of());
+        ItemDtoService itemDtoService = new ItemDtoService(expectedItemDto, null, null, List.of());
         ItemDtoUserView itemDtoUserView = new ItemDtoUserView(
                 testItem.getId(),
                 testItem.getName(),
@@ -6,8 +6,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.EtagFilterConfig;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.requests.controller.ItemRequestController;
 import ru.practicum.shareit.requests.dto.ItemRequestDto;
@@ -26,11 +29,13 @@ import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = ItemRequestController.class)
 @AutoConfigureMockMvc
+@Import(EtagFilterConfig.class)
 public class ItemRequestControllerTest {
 
     @Autowired
@@ -149,4 +154,34 @@ public class ItemRequestControllerTest {
                 .andExpect(jsonPath("$.description").value(expectedDto.getDescription()))
                 .andExpect(jsonPath("$.created").exists());
     }
+
+    @Test
+    void testFindByIdNotModified() throws Throwable {
+        ItemRequestServiceDto foundRequest = new ItemRequestServiceDto(testRequest, List.of());
+        ItemRequestDto expectedDto = new ItemRequestDto(
+                testRequest.getId(),
+                testRequest.getDescription(),
+                testRequest.getCreated(),
+                List.of()
+        );
+
+        when(requestService.findById(testRequest.getId(), testUser2.getId()))
+                .thenReturn(foundRequest);
+        when(itemRequestMapper.toItemRequestDto(foundRequest)).thenReturn(expectedDto);
+
+        String etag = mockMvc.perform(get("/requests/{requestId}", testRequest.getId())
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", testUser2.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/requests/{requestId}", testRequest.getId())
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", testUser2.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
 }
@@ -0,0 +1,83 @@
+package ru.practicum.shareit.id;
+
+import org.hibernate.id.IdentifierGeneratorHelper;
+import org.hibernate.id.IntegralDataTypeHolder;
+import org.hibernate.id.enhanced.AccessCallback;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+class BlockIdOptimizerTest {
+
+    private static final int INCREMENT_SIZE = 50;
+
+    private final AtomicLong sequence = new AtomicLong(1);
+    private final AtomicInteger sequenceCalls = new AtomicInteger();
+
+    private final AccessCallback callback = new AccessCallback() {
+        @Override
+        public IntegralDataTypeHolder getNextValue() {
+            sequenceCalls.incrementAndGet();
+            return IdentifierGeneratorHelper.getIntegralDataTypeHolder(Long.class)
+                    .initialize(sequence.getAndAdd(INCREMENT_SIZE));
+        }
+
+        @Override
+        public String getTenantIdentifier() {
+            return null;
+        }
+    };
+
+    @Test
+    void testGenerateSequentialIds() {
+        BlockIdOptimizer optimizer = new BlockIdOptimizer(Long.class, INCREMENT_SIZE);
+
+        for (long expected = 1; expected <= 120; expected++) {
+            Assertions.assertEquals(expected, optimizer.generate(callback));
+        }
+
+        Assertions.assertEquals(3, sequenceCalls.get());
+        Assertions.assertEquals(101L, optimizer.getLastSourceValue().makeValue());
+    }
+
+    @Test
+    void testGenerateUniqueIdsConcurrently() throws Exception {
+        BlockIdOptimizer optimizer = new BlockIdOptimizer(Long.class, INCREMENT_SIZE);
+        int threads = 8;
+        int idsPerThread = 1000;
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < idsPerThread; j++) {
+                        ids.add((Long) optimizer.generate(callback));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Assertions.assertEquals(threads * idsPerThread, ids.size());
+        Assertions.assertEquals(threads * idsPerThread / INCREMENT_SIZE, sequenceCalls.get());
+    }
+}
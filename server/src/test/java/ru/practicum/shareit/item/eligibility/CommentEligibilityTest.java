@@ -0,0 +1,91 @@
+package ru.practicum.shareit.item.eligibility;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static ru.practicum.shareit.booking.model.BookingStatus.APPROVED;
+import static ru.practicum.shareit.booking.model.BookingStatus.WAITING;
+
+@DirtiesContext
+@SpringBootTest
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class CommentEligibilityTest {
+
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final BookingService bookingService;
+    private final CommentEligibility commentEligibility;
+
+    @Test
+    void testBitmapMatchesDatabase() throws Exception {
+        Random random = new Random(42);
+        User owner = userRepository.save(new User(null, "owner", "eligibility-owner@ma.il"));
+        List<User> bookers = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            bookers.add(userRepository.save(new User(null, "booker" + i, "eligibility-booker" + i + "@ma.il")));
+        }
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            items.add(itemRepository.save(new Item(null, "item" + i, "description", true, owner.getId(), null)));
+        }
+        LocalDateTime now = LocalDateTime.now();
+        BookingStatus[] statuses = BookingStatus.values();
+        for (int i = 0; i < 300; i++) {
+            LocalDateTime start = now.plusHours(random.nextInt(2000) - 1000);
+            bookingRepository.save(new Booking(
+                    null,
+                    start,
+                    start.plusHours(1),
+                    items.get(random.nextInt(items.size())),
+                    bookers.get(random.nextInt(bookers.size())),
+                    statuses[random.nextInt(statuses.length)]
+            ));
+        }
+
+        commentEligibility.rebuild();
+
+        LocalDateTime checkTime = LocalDateTime.now();
+        int eligiblePairs = 0;
+        for (User booker : bookers) {
+            for (Item item : items) {
+                boolean expected = bookingRepository.existsByBookerIdAndItemIdAndStatusAndStartBefore(
+                        booker.getId(), item.getId(), APPROVED, checkTime
+                );
+                Assertions.assertEquals(expected, commentEligibility.isCached(booker.getId(), item.getId()),
+                        "booker " + booker.getId() + ", item " + item.getId());
+                eligiblePairs += expected ? 1 : 0;
+            }
+        }
+        Assertions.assertTrue(eligiblePairs > 0);
+
+        Item newItem = itemRepository.save(new Item(null, "new item", "description", true, owner.getId(), null));
+        User booker = bookers.get(0);
+        Booking booking = bookingRepository.save(new Booking(null, now.minusDays(2), now.minusDays(1), newItem, booker, WAITING));
+        Assertions.assertFalse(commentEligibility.isCached(booker.getId(), newItem.getId()));
+
+        bookingService.approveBooking(booking.getId(), true, owner.getId());
+
+        Assertions.assertTrue(commentEligibility.isCached(booker.getId(), newItem.getId()));
+        Assertions.assertTrue(commentEligibility.isEligible(booker.getId(), newItem.getId()));
+    }
+}
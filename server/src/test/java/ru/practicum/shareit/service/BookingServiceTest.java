@@ -6,22 +6,31 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.booking.archive.BookingArchive;
+import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoCreate;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.ArchivedBookingRepository;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.booking.service.BookingWriter;
 import ru.practicum.shareit.exception.*;
+import ru.practicum.shareit.item.eligibility.CommentEligibility;
+import ru.practicum.shareit.item.lock.ItemLocks;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -42,6 +51,15 @@ public class BookingServiceTest {
     @Mock
     ItemRepository itemRepository;
 
+    @Spy
+    ItemLocks itemLocks = new ItemLocks();
+
+    @Mock
+    CommentEligibility commentEligibility;
+
+    @Mock
+    ArchivedBookingRepository archivedBookingRepository;
+
     User testUser1;
 
     User testUser2;
@@ -58,6 +76,8 @@ public class BookingServiceTest {
 
     Booking testBookingApproved;
 
+    BookingDto testBookingApprovedDto;
+
 
 
 
@@ -66,7 +86,10 @@ public class BookingServiceTest {
         bookingService = new BookingServiceImpl(
                 bookingRepository,
                 userRepository,
-                itemRepository
+                itemLocks,
+                archivedBookingRepository,
+                new BookingArchive(Duration.ofDays(365)),
+                new BookingWriter(bookingRepository, userRepository, itemRepository, commentEligibility)
         );
         testStartDate = LocalDateTime.of(2022,9,1,1,1);
         testEndDate = LocalDateTime.of(2022,9,2,1,1);
@@ -112,6 +135,15 @@ public class BookingServiceTest {
                 testUser2,
                 APPROVED
         );
+        testBookingApprovedDto = new BookingDto(
+                1L,
+                testStartDate,
+                testEndDate,
+                APPROVED,
+                testUser2.getId(),
+                testItem1.getId(),
+                testItem1.getName()
+        );
     }
 
     @Test
@@ -165,21 +197,30 @@ public class BookingServiceTest {
                 .thenReturn(Optional.empty());
 
         Mockito
-                .when(itemRepository.findById(testItem1.getId()))
+                .when(itemRepository.findByIdForUpdate(testItem1.getId()))
                 .thenReturn(Optional.of(testItem1));
 
         Mockito
-                .when(itemRepository.findById(testItem2.getId()))
+                .when(itemRepository.findByIdForUpdate(testItem2.getId()))
                 .thenReturn(Optional.of(testItem2));
 
         Mockito
-                .when(itemRepository.findById(wrongItemId))
+                .when(itemRepository.findByIdForUpdate(wrongItemId))
                 .thenReturn(Optional.empty());
 
         Mockito
                 .when(bookingRepository.save(savingBooking))
                 .thenReturn(testBookingWaiting);
 
+        Mockito
+                .when(bookingRepository.existsByItemIdAndStatusInAndStartBeforeAndEndAfter(
+                        testItem1.getId(),
+                        List.of(APPROVED, WAITING),
+                        testEndDate,
+                        testStartDate
+                ))
+                .thenReturn(false);
+
         final NotFoundException userNotFoundException = Assertions.assertThrows(
                 NotFoundException.class,
                 () -> bookingService.createBooking(requestBody, wrongUserId)
@@ -214,7 +255,41 @@ public class BookingServiceTest {
     }
 
     @Test
-    void testApproveBooking() throws NotOwnerException, NotFoundException, AlreadyApprovedException {
+    void testCreateOverlappingBooking() {
+        BookingDtoCreate requestBody = new BookingDtoCreate(
+                1L,
+                testStartDate,
+                testEndDate
+        );
+
+        Mockito
+                .when(userRepository.findById(testUser2.getId()))
+                .thenReturn(Optional.of(testUser2));
+
+        Mockito
+                .when(itemRepository.findByIdForUpdate(testItem1.getId()))
+                .thenReturn(Optional.of(testItem1));
+
+        Mockito
+                .when(bookingRepository.existsByItemIdAndStatusInAndStartBeforeAndEndAfter(
+                        testItem1.getId(),
+                        List.of(APPROVED, WAITING),
+                        testEndDate,
+                        testStartDate
+                ))
+                .thenReturn(true);
+
+        final UnavailableException exception = Assertions.assertThrows(
+                UnavailableException.class,
+                () -> bookingService.createBooking(requestBody, testUser2.getId())
+        );
+
+        Assertions.assertEquals("Предмет уже забронирован на это время", exception.getMessage());
+        Mockito.verify(bookingRepository, Mockito.never()).save(any());
+    }
+
+    @Test
+    void testApproveBooking() throws NotOwnerException, NotFoundException, AlreadyApprovedException, UnavailableException {
         long bookingId = 1L;
         long wrongBookingId = 2L;
         boolean approved = true;
@@ -222,17 +297,30 @@ public class BookingServiceTest {
         long bookerId = 2L;
 
         Mockito
-                .when(bookingRepository.findById(bookingId))
-                .thenReturn(Optional.of(testBookingWaiting));
+                .when(bookingRepository.findItemIdById(bookingId))
+                .thenReturn(Optional.of(testItem1.getId()));
 
         Mockito
-                .when(bookingRepository.findById(wrongBookingId))
+                .when(bookingRepository.findItemIdById(wrongBookingId))
                 .thenReturn(Optional.empty());
 
+        Mockito
+                .when(bookingRepository.findByIdForUpdate(bookingId))
+                .thenReturn(Optional.of(testBookingWaiting));
+
         Mockito
                 .when(bookingRepository.save(testBookingApproved))
                 .thenReturn(testBookingApproved);
 
+        Mockito
+                .when(bookingRepository.existsByItemIdAndStatusInAndStartBeforeAndEndAfter(
+                        testItem1.getId(),
+                        List.of(APPROVED),
+                        testEndDate,
+                        testStartDate
+                ))
+                .thenReturn(false);
+
         final NotFoundException bookingNotFoundException = Assertions.assertThrows(
                 NotFoundException.class,
                 () -> bookingService.approveBooking(wrongBookingId, approved, userId)
@@ -252,7 +340,7 @@ public class BookingServiceTest {
         Assertions.assertEquals(testBookingApproved, approvedBooking);
 
         Mockito
-                .when(bookingRepository.findById(bookingId))
+                .when(bookingRepository.findByIdForUpdate(bookingId))
                 .thenReturn(Optional.of(testBookingApproved));
 
         final AlreadyApprovedException alreadyApprovedException = Assertions.assertThrows(
@@ -261,10 +349,40 @@ public class BookingServiceTest {
         );
 
         Assertions.assertEquals("Запрос уже подтверждён", alreadyApprovedException.getMessage());
+        Mockito.verify(itemLocks, Mockito.times(3)).lock(testItem1.getId());
+    }
+
+    @Test
+    void testApproveOverlappingBooking() {
+        Mockito
+                .when(bookingRepository.findItemIdById(testBookingWaiting.getId()))
+                .thenReturn(Optional.of(testItem1.getId()));
+
+        Mockito
+                .when(bookingRepository.findByIdForUpdate(testBookingWaiting.getId()))
+                .thenReturn(Optional.of(testBookingWaiting));
+
+        Mockito
+                .when(bookingRepository.existsByItemIdAndStatusInAndStartBeforeAndEndAfter(
+                        testItem1.getId(),
+                        List.of(APPROVED),
+                        testEndDate,
+                        testStartDate
+                ))
+                .thenReturn(true);
+
+        final UnavailableException exception = Assertions.assertThrows(
+                UnavailableException.class,
+                () -> bookingService.approveBooking(testBookingWaiting.getId(), true, testUser1.getId())
+        );
+
+        Assertions.assertEquals("Предмет уже забронирован на это время", exception.getMessage());
+        Assertions.assertEquals(WAITING, testBookingWaiting.getStatus());
+        Mockito.verify(bookingRepository, Mockito.never()).save(any());
     }
 
     @Test
-    void testFindBooking() throws Throwable {
+    void testFindBooking() throws NotFoundException, AccessException {
         long bookingId = 1L;
         long wrongBookingId = 6L;
         long userId = 1L;
@@ -279,13 +397,29 @@ public class BookingServiceTest {
                 .thenReturn(Optional.empty());
 
         Mockito
-                .when(bookingRepository.findById(bookingId))
-                .thenReturn(Optional.of(testBookingApproved));
+                .when(userRepository.findById(testUser2.getId()))
+                .thenReturn(Optional.of(testUser2));
+
+        Mockito
+                .when(bookingRepository.findDtoByIdForUser(bookingId, userId))
+                .thenReturn(Optional.of(testBookingApprovedDto));
+
+        Mockito
+                .when(bookingRepository.findDtoByIdForUser(wrongBookingId, userId))
+                .thenReturn(Optional.empty());
 
         Mockito
-                .when(bookingRepository.findById(wrongBookingId))
+                .when(bookingRepository.findDtoByIdForUser(bookingId, testUser2.getId()))
                 .thenReturn(Optional.empty());
 
+        Mockito
+                .when(bookingRepository.existsById(bookingId))
+                .thenReturn(true);
+
+        Mockito
+                .when(bookingRepository.existsById(wrongBookingId))
+                .thenReturn(false);
+
         final NotFoundException userNotFoundException = Assertions.assertThrows(
                 NotFoundException.class,
                 () -> bookingService.findBooking(bookingId, wrongUserId)
@@ -300,9 +434,16 @@ public class BookingServiceTest {
 
         Assertions.assertEquals("Запрос на бронирование 6 не найден", bookingNotFoundException.getMessage());
 
-        Booking foundBooking = bookingService.findBooking(bookingId, userId);
+        final AccessException accessException = Assertions.assertThrows(
+                AccessException.class,
+                () -> bookingService.findBooking(bookingId, testUser2.getId())
+        );
+
+        Assertions.assertEquals("Ошибка доступа", accessException.getMessage());
+
+        BookingDto foundBooking = bookingService.findBooking(bookingId, userId);
 
-        Assertions.assertEquals(foundBooking, testBookingApproved);
+        Assertions.assertEquals(testBookingApprovedDto, foundBooking);
     }
 
     @Test
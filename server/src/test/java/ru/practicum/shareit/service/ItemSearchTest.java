@@ -0,0 +1,136 @@
+package ru.practicum.shareit.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearch;
+import ru.practicum.shareit.item.search.impl.FullTextItemSearch;
+import ru.practicum.shareit.item.search.impl.InMemoryItemSearch;
+import ru.practicum.shareit.item.search.impl.LikeItemSearch;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+
+@ExtendWith(MockitoExtension.class)
+public class ItemSearchTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    private Item testItem;
+
+    @BeforeEach
+    void testSetup() {
+        testItem = new Item(
+                1L,
+                "Дрель",
+                "Аккумуляторная дрель",
+                true,
+                1L,
+                null
+        );
+    }
+
+    @Test
+    void testLikeSearch() {
+        ItemSearch itemSearch = new LikeItemSearch(itemRepository);
+
+        Mockito
+                .when(itemRepository.search("дрел", PageRequest.of(1, 5, Sort.by(Sort.Order.asc("id")))))
+                .thenReturn(List.of(testItem));
+
+        Assertions.assertEquals(List.of(testItem), itemSearch.search("дрел", 5, 5));
+    }
+
+    @Test
+    void testLikeSearchAvailable() {
+        ItemSearch itemSearch = new LikeItemSearch(itemRepository);
+        LocalDateTime start = LocalDateTime.of(2022, 1, 1, 1, 1);
+        LocalDateTime end = start.plusDays(1);
+
+        Mockito
+                .when(itemRepository.searchAvailable("дрел", start, end, PageRequest.of(0, 5, Sort.by(Sort.Order.asc("id")))))
+                .thenReturn(List.of(testItem));
+
+        Assertions.assertEquals(List.of(testItem), itemSearch.searchAvailable("дрел", start, end, 0, 5));
+    }
+
+    @Test
+    void testFullTextSearch() {
+        ItemSearch itemSearch = new FullTextItemSearch(itemRepository);
+
+        Mockito
+                .when(itemRepository.fullTextSearch("дрел:* & акк:*", PageRequest.of(0, 10)))
+                .thenReturn(List.of(testItem));
+
+        Assertions.assertEquals(List.of(testItem), itemSearch.search("Дрел, акк!", 0, 10));
+
+        Assertions.assertEquals(List.of(), itemSearch.search("?!", 0, 10));
+        Mockito.verify(itemRepository, Mockito.times(1)).fullTextSearch(anyString(), any(PageRequest.class));
+    }
+
+    @Test
+    void testInMemorySearch() {
+        InMemoryItemSearch itemSearch = new InMemoryItemSearch(itemRepository);
+        Item unavailableItem = new Item(2L, "Дрель ударная", "Сломана", false, 1L, null);
+        Item otherItem = new Item(3L, "Отвёртка", "Аккумуляторная отвёртка", true, 2L, null);
+
+        Mockito
+                .when(itemRepository.findAll())
+                .thenReturn(List.of(testItem, unavailableItem, otherItem));
+
+        itemSearch.rebuild();
+
+        Assertions.assertEquals(List.of(testItem), itemSearch.search("дрел", 0, 10));
+        Assertions.assertEquals(List.of(testItem, otherItem), itemSearch.search("АККУМ", 0, 10));
+        Assertions.assertEquals(List.of(otherItem), itemSearch.search("акк отв", 0, 10));
+        Assertions.assertEquals(List.of(otherItem), itemSearch.search("акк", 1, 1));
+        Assertions.assertEquals(List.of(), itemSearch.search("пила", 0, 10));
+
+        unavailableItem.setAvailable(true);
+        itemSearch.index(unavailableItem);
+
+        Assertions.assertEquals(List.of(testItem, unavailableItem), itemSearch.search("дрель", 0, 10));
+
+        testItem.setName("Перфоратор");
+        testItem.setDescription("Мощный");
+        itemSearch.index(testItem);
+        itemSearch.remove(unavailableItem.getId());
+
+        Assertions.assertEquals(List.of(), itemSearch.search("дрель", 0, 10));
+        Assertions.assertEquals(List.of(testItem), itemSearch.search("перф", 0, 10));
+    }
+
+    @Test
+    void testInMemorySearchAvailable() {
+        InMemoryItemSearch itemSearch = new InMemoryItemSearch(itemRepository);
+        Item bookedItem = new Item(2L, "Дрель ударная", "Мощная", true, 1L, null);
+        Item otherItem = new Item(3L, "Дрель-шуруповёрт", "Аккумуляторная", true, 2L, null);
+        LocalDateTime start = LocalDateTime.of(2022, 1, 1, 1, 1);
+        LocalDateTime end = start.plusDays(1);
+
+        Mockito
+                .when(itemRepository.findAll())
+                .thenReturn(List.of(testItem, bookedItem, otherItem));
+        Mockito
+                .when(itemRepository.findIdsBookedBetween(List.of(1L, 2L, 3L), start, end))
+                .thenReturn(List.of(2L));
+
+        itemSearch.rebuild();
+
+        Assertions.assertEquals(List.of(testItem, otherItem), itemSearch.searchAvailable("дрель", start, end, 0, 10));
+        Assertions.assertEquals(List.of(otherItem), itemSearch.searchAvailable("дрель", start, end, 1, 1));
+        Assertions.assertEquals(List.of(), itemSearch.searchAvailable("пила", start, end, 0, 10));
+    }
+}
@@ -9,18 +9,22 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
-import ru.practicum.shareit.booking.model.Booking;
-import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.ArchivedBookingRepository;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.AccessException;
 import ru.practicum.shareit.exception.NotBookedException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoCreated;
 import ru.practicum.shareit.item.dto.ItemDtoService;
+import ru.practicum.shareit.item.eligibility.CommentEligibility;
+import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearch;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.item.service.impl.ItemServiceImpl;
 import ru.practicum.shareit.requests.model.ItemRequest;
@@ -54,8 +58,19 @@ public class ItemServiceTest {
     @Mock
     private ItemRequestRepository requestRepository;
 
+    @Mock
+    private ItemSearch itemSearch;
+
+    @Mock
+    private CommentEligibility commentEligibility;
+
+    @Mock
+    private ArchivedBookingRepository archivedBookingRepository;
+
     private Item testItem;
 
+    private ItemDto testItemDto;
+
     private User testUser1;
 
     private User testUser2;
@@ -68,7 +83,11 @@ public class ItemServiceTest {
                 userRepository,
                 bookingRepository,
                 commentRepository,
-                requestRepository
+                requestRepository,
+                itemSearch,
+                commentEligibility,
+                archivedBookingRepository,
+                new ItemMapper()
         );
         testItem = new Item(
                 1L,
@@ -78,6 +97,13 @@ public class ItemServiceTest {
                 1L,
                 testRequest
         );
+        testItemDto = new ItemDto(
+                1L,
+                "item",
+                "desc",
+                true,
+                null
+        );
         testUser1 = new User(
                 1L, "name", "e@ma.il"
         );
@@ -93,24 +119,44 @@ public class ItemServiceTest {
     }
 
     @Test
-    void testSearch() {
+    void testSearch() throws ValidationException {
         String searchText = "sc";
         int from = 0;
         int size = 1;
 
         Mockito
-                .when(itemRepository.search(searchText, PageRequest.of(from, size, Sort.by(Sort.Order.asc("id")))))
+                .when(itemSearch.search(searchText, from, size))
                 .thenReturn(List.of(testItem));
 
-        List<Item> foundItems = itemService.searchItems(searchText, from,size);
+        List<Item> foundItems = itemService.searchItems(searchText, null, null, from,size);
 
         Assertions.assertEquals(List.of(testItem), foundItems);
 
-        foundItems = itemService.searchItems("", from, size);
+        foundItems = itemService.searchItems("", null, null, from, size);
 
         Assertions.assertEquals(List.of(), foundItems);
     }
 
+    @Test
+    void testSearchAvailable() throws ValidationException {
+        String searchText = "sc";
+        LocalDateTime start = LocalDateTime.of(2022, 1, 1, 1, 1);
+        LocalDateTime end = start.plusDays(1);
+
+        Mockito
+                .when(itemSearch.searchAvailable(searchText, start, end, 0, 10))
+                .thenReturn(List.of(testItem));
+
+        Assertions.assertEquals(List.of(testItem), itemService.searchItems(searchText, start, end, 0, 10));
+
+        Assertions.assertThrows(ValidationException.class,
+                () -> itemService.searchItems(searchText, start, null, 0, 10));
+        Assertions.assertThrows(ValidationException.class,
+                () -> itemService.searchItems(searchText, end, start, 0, 10));
+        Assertions.assertThrows(ValidationException.class,
+                () -> itemService.searchItems(searchText, start, start, 0, 10));
+    }
+
     @Test
     void testGetAll() {
         long userId = 1L;
@@ -118,18 +164,22 @@ public class ItemServiceTest {
         int size = 1;
 
         Mockito
-                .when(itemRepository.findByOwner(userId, PageRequest.of(from, size, Sort.by(Sort.Order.asc("id")))))
-                .thenReturn(List.of(testItem));
+                .when(itemRepository.findItemDtosByOwner(userId, PageRequest.of(from, size, Sort.by(Sort.Order.asc("id")))))
+                .thenReturn(List.of(testItemDto));
+
+        Mockito
+                .when(bookingRepository.findLastByItemIdIn(eq(List.of(testItem.getId())), any(LocalDateTime.class)))
+                .thenReturn(List.of());
 
         Mockito
-                .when(bookingRepository.findByItemIdOrderByStart(testItem.getId()))
+                .when(bookingRepository.findNextByItemIdIn(eq(List.of(testItem.getId())), any(LocalDateTime.class)))
                 .thenReturn(List.of());
 
         Mockito
-                .when(commentRepository.findAllByItemId(testItem.getId()))
+                .when(commentRepository.findAllByItemIdIn(List.of(testItem.getId())))
                 .thenReturn(List.of());
 
-        ItemDtoService testids = new ItemDtoService(testItem, List.of(), List.of());
+        ItemDtoService testids = new ItemDtoService(testItemDto, null, null, List.of());
 
         List<ItemDtoService> foundItems = itemService.getAllUserItems(userId, from, size);
 
@@ -145,7 +195,7 @@ public class ItemServiceTest {
                 .when(itemRepository.findById(itemId))
                 .thenReturn(Optional.of(testItem));
 
-        ItemDtoService expected = new ItemDtoService(testItem, List.of(), List.of());
+        ItemDtoService expected = new ItemDtoService(testItemDto, null, null, List.of());
         ItemDtoService foundItem = itemService.getItem(itemId, userId);
 
         Assertions.assertEquals(expected, foundItem);
@@ -284,17 +334,8 @@ public class ItemServiceTest {
                 .thenReturn(Optional.empty());
 
         Mockito
-                .when(bookingRepository
-                        //.findUserPast(eq(userId), any(LocalDateTime.class)))
-                        .findAllByBookerIdAndEndBefore(eq(userId), any(LocalDateTime.class)))
-                .thenReturn(List.of(new Booking(
-                        1L,
-                        LocalDateTime.of(2022,1,1,1,1),
-                        LocalDateTime.of(2022,1,1,2,1),
-                        testItem,
-                        testUser1,
-                        BookingStatus.APPROVED
-                )));
+                .when(commentEligibility.isEligible(userId, itemId))
+                .thenReturn(true);
 
         Mockito
                 .when(commentRepository.save(savingComment))
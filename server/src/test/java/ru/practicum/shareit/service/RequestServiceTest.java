@@ -12,7 +12,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
-import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.requests.dto.ItemRequestServiceDto;
 import ru.practicum.shareit.requests.model.ItemRequest;
@@ -42,7 +42,7 @@ public class RequestServiceTest {
 
     private User testUser;
 
-    private Item testItem;
+    private ItemDto testItem;
 
     private ItemRequest testRequest;
 
@@ -66,13 +66,12 @@ public class RequestServiceTest {
                 LocalDateTime.of(2022,1,1, 1,1)
         );
 
-        testItem = new Item(
+        testItem = new ItemDto(
                 1L,
                 "item",
                 "desc",
                 true,
-                1L,
-                testRequest
+                testRequest.getId()
         );
 
         testRequestCreation = new ItemRequest(
@@ -145,7 +144,7 @@ public class RequestServiceTest {
                 .thenReturn(Optional.of(testRequest));
 
         Mockito
-                .when(itemRepository.findAllByRequestId(requestId))
+                .when(itemRepository.findItemDtosByRequestId(requestId))
                 .thenReturn(List.of(testItem));
 
         final NotFoundException userNotFoundException = Assertions.assertThrows(
@@ -202,7 +201,7 @@ public class RequestServiceTest {
                 .thenReturn(new PageImpl<>(List.of(testRequest)));
 
         Mockito
-                .when(itemRepository.findAllByRequestId(requestId))
+                .when(itemRepository.findItemDtosByRequestIdIn(List.of(requestId)))
                 .thenReturn(List.of(testItem));
 
         ItemRequestServiceDto expectedServiceDto = new ItemRequestServiceDto();
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.service;
 
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -7,6 +8,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import ru.practicum.shareit.exception.AlreadyExistsException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.user.model.User;
@@ -97,8 +99,30 @@ public class UserServiceTest {
         Assertions.assertEquals(savedUser, testUser1);
 
         Mockito
-                .when(userRepository.findAll())
-                .thenReturn(List.of(testUser1));
+                .when(userRepository.existsByEmail(createdUser.getEmail()))
+                .thenReturn(true);
+
+        final AlreadyExistsException exception = Assertions.assertThrows(
+                AlreadyExistsException.class,
+                () -> userService.createUser(createdUser)
+        );
+
+        Assertions.assertEquals("Пользователь с email e@ma.il уже существует", exception.getMessage());
+    }
+
+    @Test
+    void testCreateUserWithConcurrentlyTakenEmail() {
+        User createdUser = new User(
+                null,
+                "name",
+                "e@ma.il"
+        );
+
+        Mockito
+                .when(userRepository.save(createdUser))
+                .thenThrow(new DataIntegrityViolationException("could not execute statement",
+                        new ConstraintViolationException("duplicate key", null,
+                                "PUBLIC.UQ_USER_EMAIL_INDEX_4 ON PUBLIC.USERS(EMAIL NULLS FIRST)")));
 
         final AlreadyExistsException exception = Assertions.assertThrows(
                 AlreadyExistsException.class,
@@ -108,6 +132,28 @@ public class UserServiceTest {
         Assertions.assertEquals("Пользователь с email e@ma.il уже существует", exception.getMessage());
     }
 
+    @Test
+    void testCreateUserWithOtherIntegrityViolation() {
+        User createdUser = new User(
+                null,
+                "name",
+                "e@ma.il"
+        );
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("value too long", null, null));
+
+        Mockito
+                .when(userRepository.save(createdUser))
+                .thenThrow(violation);
+
+        final DataIntegrityViolationException exception = Assertions.assertThrows(
+                DataIntegrityViolationException.class,
+                () -> userService.createUser(createdUser)
+        );
+
+        Assertions.assertSame(violation, exception);
+    }
+
     @Test
     void testUpdateUser() throws AlreadyExistsException, NotFoundException {
         User pathingUser = new User(
@@ -136,10 +182,6 @@ public class UserServiceTest {
                 .when(userRepository.getReferenceById(id))
                 .thenReturn(testUser1);
 
-        Mockito
-                .when(userRepository.findAll())
-                .thenReturn(List.of(testUser1, testUser2));
-
         final NotFoundException exception = Assertions.assertThrows(
                 NotFoundException.class,
                 () -> userService.updateUser(wrongId, pathingUser)
@@ -1,6 +0,0 @@
-INSERT INTO users
-    (ID, NAME, EMAIL)
-VALUES
-    (1, 'a', 'a@y.ru'),
-    (2, 'b', 'b@y.ru'),
-    (3, 'c', 'c@y.ru');
\ No newline at end of file